@@ -1,167 +1,192 @@
 package com.nikondsl.jupiter.logging.adapters;
 
-import com.nikondsl.jupiter.logging.adapters.impl.Log4j2LoggerAdaptor;
-import com.nikondsl.jupiter.logging.adapters.impl.Log4jLoggerAdaptor;
-import com.nikondsl.jupiter.logging.adapters.impl.Slf4JLoggerAdaptor;
-import com.nikondsl.jupiter.logging.annotations.ClassAndMessage;
+import com.nikondsl.jupiter.logging.policy.SuppressionPolicy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Constructor;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.ServiceLoader;
 import java.util.stream.Collectors;
 
 public class LoggerAdapterRepository {
     private static Logger LOG = LoggerFactory.getLogger(LoggerAdapterRepository.class);
-    private static List<LoggingSupported> registeredAdaptors = new ArrayList<>();
+    // copy-on-write, loaded by ServiceLoader on first use (see LoggerAdaptorFactory)
+    private static volatile List<LoggerAdaptorFactory> registeredFactories;
+    // replaced whenever registered factories change
+    private static volatile FactoryByClass factoryByClass = new FactoryByClass();
     private static LoggerAdapterRepository instance = new LoggerAdapterRepository();
-    private AtomicBoolean suspendLogic = new AtomicBoolean();
 
-    static {
-       reInit();
+    /**
+     * Keeps adaptors registered as instances (see addToRegisteredAdaptors) working:
+     * the adaptor is created by its public (Object, LoggerAdapterRepository) constructor, so the adaptor class
+     * must be public as well.
+     */
+    private static class PrototypeAdaptorFactory implements LoggerAdaptorFactory {
+        private final LoggingSupported prototype;
+        private final MethodHandle constructor;
+        private final ReflectiveOperationException constructorException;
+
+        PrototypeAdaptorFactory(LoggingSupported prototype) {
+            this.prototype = prototype;
+            MethodHandle found = null;
+            ReflectiveOperationException exception = null;
+            try {
+                Constructor<?> constructor = prototype.getClass().getConstructor(Object.class, LoggerAdapterRepository.class);
+                found = MethodHandles.publicLookup().unreflectConstructor(constructor);
+            } catch (ReflectiveOperationException ex) {
+                exception = ex;
+            }
+            this.constructor = found;
+            this.constructorException = exception;
+        }
+
+        @Override
+        public boolean isClassAcceptableForReplacing(String className) {
+            return prototype.isClassAcceptableForReplacing(className);
+        }
+
+        @Override
+        public LoggingSupported create(Object logger, LoggerAdapterRepository repository) {
+            if (constructor == null) {
+                throw new IllegalArgumentException(constructorException);
+            }
+            try {
+                return (LoggingSupported) constructor.invoke(logger, repository);
+            } catch (RuntimeException | Error ex) {
+                throw ex;
+            } catch (Throwable ex) {
+                throw new IllegalArgumentException(ex);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return prototype.getClass().getCanonicalName();
+        }
     }
 
-    public static LoggingSupported createAdaptor(Object logger) {
-        final Exception[] exceptios = new Exception[1];
-        Optional found = registeredAdaptors
-            .stream()
-//            .filter(adaptor -> adaptor.isClassAcceptableForReplacing(logger.getClass().getCanonicalName()))
-            .map(adaptor -> {
-                LOG.trace("Checking built-in adaptor " + adaptor.getClass().getCanonicalName());
-                if (!adaptor.isClassAcceptableForReplacing(logger.getClass().getCanonicalName())) {
-                    LOG.trace("It does not support for name " + logger.getClass().getCanonicalName());
-                    return null;
+    /**
+     * Factory for the most specific class of a hierarchy (the class itself, its interfaces, then superclasses)
+     * which is accepted by a registered factory, computed once per class.
+     */
+    private static class FactoryByClass extends ClassValue<Optional<LoggerAdaptorFactory>> {
+        @Override
+        protected Optional<LoggerAdaptorFactory> computeValue(Class<?> type) {
+            List<LoggerAdaptorFactory> factories = getRegisteredFactories();
+            for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+                LoggerAdaptorFactory found = findFactory(current, factories);
+                if (found != null) {
+                    return Optional.of(found);
                 }
-                LOG.trace("It supports for name " + logger.getClass().getCanonicalName());
-                try {
-                    Constructor constructor = adaptor.getClass().getConstructor(Object.class, LoggerAdapterRepository.class);
-                    LoggingSupported loggingSupported = (LoggingSupported) constructor.newInstance(logger, instance);
-                    LOG.trace("It returns OK for name " + logger.getClass().getCanonicalName());
-                    return loggingSupported;
-                } catch (Exception e) {
-                    if (exceptios[0] == null) {
-                        exceptios[0] = e;
+            }
+            return Optional.empty();
+        }
+
+        private static LoggerAdaptorFactory findFactory(Class<?> type, List<LoggerAdaptorFactory> factories) {
+            String className = type.getCanonicalName();
+            if (className != null) {
+                for (LoggerAdaptorFactory factory : factories) {
+                    if (factory.isClassAcceptableForReplacing(className)) {
+                        return factory;
                     }
                 }
-                LOG.trace("It returns BAD for name " + logger.getClass().getCanonicalName() + " -> " + exceptios[0]);
-                return null;
-            })
-            .filter(Objects::nonNull)
-            .findAny();
-        if (!found.isPresent()) {
-            String message = "Cannot find adaptor class for name '" + logger.getClass().getCanonicalName() +
-                    "'\n\tThe target adaptor class should implement 'LoggingSupported' interface and \n\talso should have " +
-                    "a public constructor with 2 arguments, \n\tObject.class and LoggerAdapterRepository.class. " +
-                    "\nRegistered adaptors are:\n\t" +
-                    registeredAdaptors.stream().map(ad -> ad.getClass().getCanonicalName()).collect(Collectors.joining(",\n\t"));
-            if (exceptios[0] != null) {
-                throw new IllegalArgumentException(message, exceptios[0]);
             }
-            throw new IllegalArgumentException(message);
+            for (Class<?> implemented : type.getInterfaces()) {
+                LoggerAdaptorFactory found = findFactory(implemented, factories);
+                if (found != null) {
+                    return found;
+                }
+            }
+            return null;
         }
-        return (LoggingSupported) found.get();
-    }
-
-    protected Set<Class<? extends Throwable>> exceptionsToHide = Collections.emptySet();
-    protected Set<String> messagesToHide = Collections.emptySet();
-    protected List<ClassAndMessage> classAndMessageToHide = Collections.emptyList();
-
-    public static boolean isLoggerSupported(String className) {
-        Optional found = registeredAdaptors
-                .stream()
-                .filter(adapter -> adapter.isClassAcceptableForReplacing(className))
-                .findAny();
-        return found.isPresent();
     }
 
-    public void setExceptionClassesToHide(Class<? extends Throwable>[] values) {
-        if (values != null) {
-            this.exceptionsToHide = new HashSet<>(Arrays.asList(values));
-        } else {
-            this.exceptionsToHide = Collections.emptySet();
+    public static LoggingSupported createAdaptor(Object logger) {
+        Optional<LoggerAdaptorFactory> factory = factoryByClass.get(logger.getClass());
+        String className = logger.getClass().getCanonicalName();
+        Exception exception = null;
+        if (factory.isPresent()) {
+            try {
+                LoggingSupported loggingSupported = factory.get().create(logger, instance);
+                LOG.trace("Adaptor factory " + factory.get() + " returns OK for name " + className);
+                return loggingSupported;
+            } catch (Exception e) {
+                exception = e.getCause() instanceof ReflectiveOperationException ? (Exception) e.getCause() : e;
+                LOG.trace("Adaptor factory " + factory.get() + " returns BAD for name " + className + " -> " + e);
+            }
         }
-    }
-
-    public void setExceptionMessagesToHide(String[] values) {
-        if (values != null) {
-            this.messagesToHide = new HashSet<>(Arrays.asList(values));
-        } else {
-            this.messagesToHide = Collections.emptySet();
+        String message = "Cannot find adaptor class for name '" + className +
+                "'\n\tThe target adaptor class should implement 'LoggingSupported' interface and \n\talso should have " +
+                "a public constructor with 2 arguments, \n\tObject.class and LoggerAdapterRepository.class. " +
+                "\nRegistered adaptor factories are:\n\t" +
+                getRegisteredFactories().stream().map(Object::toString).collect(Collectors.joining(",\n\t"));
+        if (exception != null) {
+            throw new IllegalArgumentException(message, exception);
         }
+        throw new IllegalArgumentException(message);
     }
 
-    public void setExceptionClassAndMessageToHide(ClassAndMessage[] values) {
-        if (values != null) {
-            this.classAndMessageToHide = Arrays.asList(values);
-        } else {
-            this.classAndMessageToHide = Collections.emptyList();
-        }
+    /**
+     * @return true if the class, one of its superclasses or interfaces is supported by a registered factory
+     */
+    public static boolean isLoggerSupported(Class<?> type) {
+        return factoryByClass.get(type).isPresent();
     }
 
-    public void setSuspendLogic(AtomicBoolean suspendLogic) {
-        this.suspendLogic = suspendLogic;
+    public static boolean isLoggerSupported(String className) {
+        for (LoggerAdaptorFactory factory : getRegisteredFactories()) {
+            if (factory.isClassAcceptableForReplacing(className)) {
+                return true;
+            }
+        }
+        return false;
     }
 
-    public Object sanitize(Object arg) {
+    /**
+     * Sanitizes with given policy, the repository itself keeps no rules.
+     */
+    public Object sanitize(Object arg, SuppressionPolicy policy) {
         if (arg == null) {
             return null;
         }
         if (arg instanceof Exception) {
-            if (suspendLogic.get()) {
-                return (arg.getClass().getCanonicalName() + " is suspended");
-            }
-            if (exceptionsToHide.contains(arg.getClass())) {
-                return (arg.getClass().getCanonicalName() + " is hidden by class");
-            }
-            if (!messagesToHide.isEmpty()) {
-                Optional<String> patternFound = messagesToHide
-                    .stream()
-                    .filter(pattern ->
-                            ((Exception) arg).getMessage() != null && ((Exception) arg).getMessage().contains(pattern))
-                    .findAny();
-                if (patternFound.isPresent()) {
-                    return (arg.getClass().getCanonicalName() + " is hidden by message:" + ((Exception) arg).getMessage());
-                }
-            }
-            if (!classAndMessageToHide.isEmpty()) {
-                Optional<ClassAndMessage> patternFound = classAndMessageToHide
-                        .stream()
-                        .filter(classAndMessage ->
-                                classAndMessage.clazz().getClassLoader() == arg.getClass().getClassLoader() &&
-                                        classAndMessage.clazz() == arg.getClass() &&
-                                        ((Exception) arg).getMessage().contains(classAndMessage.message()))
-                        .findAny();
-                if (patternFound.isPresent()) {
-                    return (arg.getClass().getCanonicalName() + " is hidden by class: " +
-                            arg.getClass().getCanonicalName() + " and message:" +
-                            ((Exception) arg).getMessage());
-                }
+            String replacement = policy.getReplacement((Exception) arg);
+            if (replacement != null) {
+                return policy.isSubstitutingThrowables() ? policy.getSubstitute(replacement) : replacement;
             }
         }
         return arg;
     }
 
-    public Object[] getSanitizedCopy(Object[] arguments) {
+    /**
+     * @return given arguments if nothing is replaced, otherwise a copy with replacements, so nothing is allocated
+     * for the common case of arguments without hidden exceptions
+     */
+    public Object[] getSanitizedCopy(Object[] arguments, SuppressionPolicy policy) {
         if (arguments == null) {
             return null;
         }
-        List<Object> result = new ArrayList<>();
-        for (Object obj : arguments) {
-            if (obj instanceof Exception) {
-                result.add(sanitize(obj));
-            } else {
-                result.add(obj);
+        Object[] result = arguments;
+        for (int i = 0; i < arguments.length; i++) {
+            Object obj = arguments[i];
+            if (!(obj instanceof Exception)) {
+                continue;
+            }
+            Object sanitized = sanitize(obj, policy);
+            if (sanitized != obj) {
+                if (result == arguments) {
+                    result = arguments.clone();
+                }
+                result[i] = sanitized;
             }
         }
-        return result.toArray();
+        return result;
     }
 
     public static LoggerAdapterRepository getInstance() {
@@ -169,17 +194,39 @@ public class LoggerAdapterRepository {
     }
 
     public static void addToRegisteredAdaptors(LoggingSupported obj) {
-        registeredAdaptors.add(obj);
+        addToRegisteredFactories(new PrototypeAdaptorFactory(obj));
+    }
+
+    public static synchronized void addToRegisteredFactories(LoggerAdaptorFactory factory) {
+        List<LoggerAdaptorFactory> factories = new ArrayList<>(getRegisteredFactories());
+        factories.add(factory);
+        registeredFactories = Collections.unmodifiableList(factories);
+        factoryByClass = new FactoryByClass();
     }
 
-    public static void reInit() {
-        registeredAdaptors.clear();
-        registeredAdaptors.add(new Slf4JLoggerAdaptor(null, instance));
-        registeredAdaptors.add(new Log4jLoggerAdaptor(null, instance));
-        registeredAdaptors.add(new Log4j2LoggerAdaptor(instance));
+    /**
+     * Drops registered factories, the ones found by ServiceLoader are loaded again on next use.
+     */
+    public static synchronized void reInit() {
+        registeredFactories = null;
+        factoryByClass = new FactoryByClass();
     }
 
-    public static List<LoggingSupported> getRegisteredAdaptors() {
-        return Collections.unmodifiableList(registeredAdaptors);
+    public static List<LoggerAdaptorFactory> getRegisteredFactories() {
+        List<LoggerAdaptorFactory> factories = registeredFactories;
+        if (factories != null) {
+            return factories;
+        }
+        synchronized (LoggerAdapterRepository.class) {
+            if (registeredFactories == null) {
+                List<LoggerAdaptorFactory> loaded = new ArrayList<>();
+                for (LoggerAdaptorFactory factory : ServiceLoader.load(LoggerAdaptorFactory.class,
+                        LoggerAdapterRepository.class.getClassLoader())) {
+                    loaded.add(factory);
+                }
+                registeredFactories = Collections.unmodifiableList(loaded);
+            }
+            return registeredFactories;
+        }
     }
 }
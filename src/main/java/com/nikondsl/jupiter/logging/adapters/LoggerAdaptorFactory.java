@@ -0,0 +1,16 @@
+package com.nikondsl.jupiter.logging.adapters;
+
+/**
+ * Creates adaptors for one logging framework. Implementations are found by ServiceLoader
+ * (META-INF/services/com.nikondsl.jupiter.logging.adapters.LoggerAdaptorFactory) and should not touch
+ * classes of the logging framework until an adaptor is created, so unused frameworks are never loaded.
+ */
+public interface LoggerAdaptorFactory {
+
+    /**
+     * @param className canonical name of a logger class or of a field type
+     */
+    boolean isClassAcceptableForReplacing(String className);
+
+    LoggingSupported create(Object logger, LoggerAdapterRepository repository);
+}
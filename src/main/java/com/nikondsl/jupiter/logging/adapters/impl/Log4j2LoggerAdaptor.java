@@ -2,84 +2,350 @@ package com.nikondsl.jupiter.logging.adapters.impl;
 
 import com.nikondsl.jupiter.logging.adapters.LoggerAdapterRepository;
 import com.nikondsl.jupiter.logging.adapters.LoggingSupported;
-import com.nikondsl.jupiter.logging.annotations.ClassAndMessage;
+import com.nikondsl.jupiter.logging.policy.SuppressionPolicy;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.Marker;
-import org.apache.logging.log4j.core.Logger;
-import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.apache.logging.log4j.spi.AbstractLogger;
+import org.apache.logging.log4j.spi.ExtendedLogger;
+import org.apache.logging.log4j.util.LambdaUtil;
+import org.apache.logging.log4j.util.MessageSupplier;
+import org.apache.logging.log4j.util.Supplier;
 
-import java.lang.reflect.Field;
-import java.util.concurrent.atomic.AtomicBoolean;
 
-public class Log4j2LoggerAdaptor extends Logger implements LoggingSupported {
-    private Logger logger;
+/**
+ * Thin wrapper over any Log4j2 logger: all checks and events are delegated to the wrapped logger,
+ * the wrapper keeps no configuration of its own. Fields should be declared as org.apache.logging.log4j.Logger,
+ * the wrapper is not a org.apache.logging.log4j.core.Logger, so fields of that type are left as they are.
+ */
+public class Log4j2LoggerAdaptor extends AbstractLogger implements LoggingSupported {
+    private ExtendedLogger logger;
     private LoggerAdapterRepository delegate;
-
-    public Log4j2LoggerAdaptor(LoggerAdapterRepository delegate) {
-        super(new LoggerContext("Log4j2LoggerContext"), "Log4j2LoggerAdapter", null);
-        this.delegate = delegate;
-    }
+    private volatile SuppressionPolicy policy = SuppressionPolicy.EMPTY;
 
     public Log4j2LoggerAdaptor(Object logger, LoggerAdapterRepository delegate) {
-        super(((Logger) logger).getContext(),
-        "Log4j2LoggerAdapter",
-              ((Logger) logger).getMessageFactory());
-        this.logger = (Logger) logger;
+        super(((ExtendedLogger) logger).getName(), ((ExtendedLogger) logger).getMessageFactory());
+        this.logger = (ExtendedLogger) logger;
         this.delegate = delegate;
     }
 
     @Override
     public boolean isClassAcceptableForReplacing(String className) {
-        return "org.apache.logging.log4j.Logger".equals(className) ||
-               "org.apache.logging.log4j.core.Logger".equals(className);
+        return Log4j2LoggerAdaptorFactory.accepts(className);
+    }
+
+    @Override
+    public void setSuppressionPolicy(SuppressionPolicy policy) {
+        this.policy = policy;
+    }
+
+    @Override
+    public Object sanitize(Object arg) {
+        return delegate.sanitize(arg, policy);
+    }
+
+    @Override
+    public Object[] getSanitizedCopy(Object[] arguments) {
+        return delegate.getSanitizedCopy(arguments, policy);
+    }
+
+    @Override
+    public Level getLevel() {
+        return logger.getLevel();
+    }
+
+    /*
+     * A suspended wrapper is disabled for all levels, otherwise the wrapped logger decides.
+     */
+
+    @Override
+    public boolean isEnabled(final Level level, final Marker marker, final Message message, final Throwable t) {
+        return !policy.isSuspended() && logger.isEnabled(level, marker, message, t);
+    }
+
+    @Override
+    public boolean isEnabled(final Level level, final Marker marker, final CharSequence message, final Throwable t) {
+        return !policy.isSuspended() && logger.isEnabled(level, marker, message, t);
+    }
+
+    @Override
+    public boolean isEnabled(final Level level, final Marker marker, final Object message, final Throwable t) {
+        return !policy.isSuspended() && logger.isEnabled(level, marker, message, t);
+    }
+
+    @Override
+    public boolean isEnabled(final Level level, final Marker marker, final String message, final Throwable t) {
+        return !policy.isSuspended() && logger.isEnabled(level, marker, message, t);
+    }
+
+    @Override
+    public boolean isEnabled(final Level level, final Marker marker, final String message) {
+        return !policy.isSuspended() && logger.isEnabled(level, marker, message);
     }
 
     @Override
-    public void setExceptionClassesToHide(Class[] values) {
-        delegate.setExceptionClassesToHide(values);
+    public boolean isEnabled(final Level level, final Marker marker, final String message, final Object... params) {
+        return !policy.isSuspended() && logger.isEnabled(level, marker, message, params);
     }
 
     @Override
-    public void setExceptionMessagesToHide(String[] values) {
-        delegate.setExceptionMessagesToHide(values);
+    public boolean isEnabled(final Level level, final Marker marker, final String message, final Object p0) {
+        return !policy.isSuspended() && logger.isEnabled(level, marker, message, p0);
     }
 
     @Override
-    public void setExceptionClassAndMessageToHide(ClassAndMessage[] values) {
-        delegate.setExceptionClassAndMessageToHide(values);
+    public boolean isEnabled(final Level level, final Marker marker, final String message, final Object p0, final Object p1) {
+        return !policy.isSuspended() && logger.isEnabled(level, marker, message, p0, p1);
     }
 
     @Override
-    public void setSuspendLogging(AtomicBoolean suspendLogging) {
-        if (delegate != null) {
-            delegate.setSuspendLogic(suspendLogging);
+    public boolean isEnabled(final Level level, final Marker marker, final String message, final Object p0, final Object p1, final Object p2) {
+        return !policy.isSuspended() && logger.isEnabled(level, marker, message, p0, p1, p2);
+    }
+
+    @Override
+    public boolean isEnabled(final Level level, final Marker marker, final String message, final Object p0, final Object p1, final Object p2, final Object p3) {
+        return !policy.isSuspended() && logger.isEnabled(level, marker, message, p0, p1, p2, p3);
+    }
+
+    @Override
+    public boolean isEnabled(final Level level, final Marker marker, final String message, final Object p0, final Object p1, final Object p2, final Object p3, final Object p4) {
+        return !policy.isSuspended() && logger.isEnabled(level, marker, message, p0, p1, p2, p3, p4);
+    }
+
+    @Override
+    public boolean isEnabled(final Level level, final Marker marker, final String message, final Object p0, final Object p1, final Object p2, final Object p3, final Object p4, final Object p5) {
+        return !policy.isSuspended() && logger.isEnabled(level, marker, message, p0, p1, p2, p3, p4, p5);
+    }
+
+    @Override
+    public boolean isEnabled(final Level level, final Marker marker, final String message, final Object p0, final Object p1, final Object p2, final Object p3, final Object p4, final Object p5, final Object p6) {
+        return !policy.isSuspended() && logger.isEnabled(level, marker, message, p0, p1, p2, p3, p4, p5, p6);
+    }
+
+    @Override
+    public boolean isEnabled(final Level level, final Marker marker, final String message, final Object p0, final Object p1, final Object p2, final Object p3, final Object p4, final Object p5, final Object p6, final Object p7) {
+        return !policy.isSuspended() && logger.isEnabled(level, marker, message, p0, p1, p2, p3, p4, p5, p6, p7);
+    }
+
+    @Override
+    public boolean isEnabled(final Level level, final Marker marker, final String message, final Object p0, final Object p1, final Object p2, final Object p3, final Object p4, final Object p5, final Object p6, final Object p7, final Object p8) {
+        return !policy.isSuspended() && logger.isEnabled(level, marker, message, p0, p1, p2, p3, p4, p5, p6, p7, p8);
+    }
+
+    @Override
+    public boolean isEnabled(final Level level, final Marker marker, final String message, final Object p0, final Object p1, final Object p2, final Object p3, final Object p4, final Object p5, final Object p6, final Object p7, final Object p8, final Object p9) {
+        return !policy.isSuspended() && logger.isEnabled(level, marker, message, p0, p1, p2, p3, p4, p5, p6, p7, p8, p9);
+    }
+
+    /*
+     * Every logIfEnabled() variant returns before any message supplier is called if the wrapper is suspended
+     * or the level is disabled. Suppliers run only for events which are really written.
+     */
+
+    @Override
+    public void logIfEnabled(final String fqcn, final Level level, final Marker marker, final Message message, final Throwable t) {
+        if (!isEnabled(level, marker, message, t)) {
+            return;
         }
+        logMessage(fqcn, level, marker, message, t);
     }
 
     @Override
-    public Object sanitize(Object arg) {
-        return delegate.sanitize(arg);
+    public void logIfEnabled(final String fqcn, final Level level, final Marker marker, final MessageSupplier msgSupplier, final Throwable t) {
+        if (!isEnabled(level, marker, msgSupplier, t)) {
+            return;
+        }
+        Object sanitized = sanitize(t);
+        if (sanitized == null || sanitized instanceof Throwable) {
+            logger.logIfEnabled(fqcn, level, marker, msgSupplier, (Throwable) sanitized);
+        } else {
+            logger.logIfEnabled(fqcn, level, marker, withReplacement(LambdaUtil.get(msgSupplier), sanitized));
+        }
     }
 
     @Override
-    public Object[] getSanitizedCopy(Object[] arguments) {
-        return delegate.getSanitizedCopy(arguments);
+    public void logIfEnabled(final String fqcn, final Level level, final Marker marker, final Supplier<?> msgSupplier, final Throwable t) {
+        if (!isEnabled(level, marker, msgSupplier, t)) {
+            return;
+        }
+        Object sanitized = sanitize(t);
+        if (sanitized == null || sanitized instanceof Throwable) {
+            logger.logIfEnabled(fqcn, level, marker, msgSupplier, (Throwable) sanitized);
+        } else {
+            logger.logIfEnabled(fqcn, level, marker, withReplacement(LambdaUtil.get(msgSupplier), sanitized));
+        }
+    }
+
+    @Override
+    public void logIfEnabled(final String fqcn, final Level level, final Marker marker, final Object message, final Throwable t) {
+        if (!isEnabled(level, marker, message, t)) {
+            return;
+        }
+        Object sanitized = sanitize(t);
+        if (sanitized == null || sanitized instanceof Throwable) {
+            logger.logIfEnabled(fqcn, level, marker, message, (Throwable) sanitized);
+        } else {
+            logger.logIfEnabled(fqcn, level, marker, withReplacement(message, sanitized));
+        }
+    }
+
+    @Override
+    public void logIfEnabled(final String fqcn, final Level level, final Marker marker, final CharSequence message, final Throwable t) {
+        if (!isEnabled(level, marker, message, t)) {
+            return;
+        }
+        Object sanitized = sanitize(t);
+        if (sanitized == null || sanitized instanceof Throwable) {
+            logger.logIfEnabled(fqcn, level, marker, message, (Throwable) sanitized);
+        } else {
+            logger.logIfEnabled(fqcn, level, marker, withReplacement(message, sanitized));
+        }
+    }
+
+    @Override
+    public void logIfEnabled(final String fqcn, final Level level, final Marker marker, final String message, final Throwable t) {
+        if (!isEnabled(level, marker, message, t)) {
+            return;
+        }
+        Object sanitized = sanitize(t);
+        if (sanitized == null || sanitized instanceof Throwable) {
+            logger.logIfEnabled(fqcn, level, marker, message, (Throwable) sanitized);
+        } else {
+            logger.logIfEnabled(fqcn, level, marker, withReplacement(message, sanitized));
+        }
+    }
+
+    @Override
+    public void logIfEnabled(final String fqcn, final Level level, final Marker marker, final String message) {
+        if (!isEnabled(level, marker, message)) {
+            return;
+        }
+        logger.logIfEnabled(fqcn, level, marker, message);
+    }
+
+    @Override
+    public void logIfEnabled(final String fqcn, final Level level, final Marker marker, final String message, final Supplier<?>... paramSuppliers) {
+        if (!isEnabled(level, marker, message)) {
+            return;
+        }
+        logger.logIfEnabled(fqcn, level, marker, message, getSanitizedCopy(LambdaUtil.getAll(paramSuppliers)));
+    }
+
+    @Override
+    public void logIfEnabled(final String fqcn, final Level level, final Marker marker, final String message, final Object... params) {
+        if (!isEnabled(level, marker, message, params)) {
+            return;
+        }
+        logger.logIfEnabled(fqcn, level, marker, message, getSanitizedCopy(params));
+    }
+
+    @Override
+    public void logIfEnabled(final String fqcn, final Level level, final Marker marker, final String message, final Object p0) {
+        if (!isEnabled(level, marker, message, p0)) {
+            return;
+        }
+        logger.logIfEnabled(fqcn, level, marker, message, sanitize(p0));
+    }
+
+    @Override
+    public void logIfEnabled(final String fqcn, final Level level, final Marker marker, final String message, final Object p0, final Object p1) {
+        if (!isEnabled(level, marker, message, p0, p1)) {
+            return;
+        }
+        logger.logIfEnabled(fqcn, level, marker, message, sanitize(p0), sanitize(p1));
     }
 
     @Override
-    public void unwrap(Field field, Object key) throws ReflectiveOperationException {
-        field.set(key, logger);
+    public void logIfEnabled(final String fqcn, final Level level, final Marker marker, final String message, final Object p0, final Object p1, final Object p2) {
+        if (!isEnabled(level, marker, message, p0, p1, p2)) {
+            return;
+        }
+        logger.logIfEnabled(fqcn, level, marker, message, sanitize(p0), sanitize(p1), sanitize(p2));
+    }
+
+    @Override
+    public void logIfEnabled(final String fqcn, final Level level, final Marker marker, final String message, final Object p0, final Object p1, final Object p2, final Object p3) {
+        if (!isEnabled(level, marker, message, p0, p1, p2, p3)) {
+            return;
+        }
+        logger.logIfEnabled(fqcn, level, marker, message, sanitize(p0), sanitize(p1), sanitize(p2), sanitize(p3));
+    }
+
+    @Override
+    public void logIfEnabled(final String fqcn, final Level level, final Marker marker, final String message, final Object p0, final Object p1, final Object p2, final Object p3, final Object p4) {
+        if (!isEnabled(level, marker, message, p0, p1, p2, p3, p4)) {
+            return;
+        }
+        logger.logIfEnabled(fqcn, level, marker, message, sanitize(p0), sanitize(p1), sanitize(p2), sanitize(p3), sanitize(p4));
+    }
+
+    @Override
+    public void logIfEnabled(final String fqcn, final Level level, final Marker marker, final String message, final Object p0, final Object p1, final Object p2, final Object p3, final Object p4, final Object p5) {
+        if (!isEnabled(level, marker, message, p0, p1, p2, p3, p4, p5)) {
+            return;
+        }
+        logger.logIfEnabled(fqcn, level, marker, message, sanitize(p0), sanitize(p1), sanitize(p2), sanitize(p3), sanitize(p4), sanitize(p5));
+    }
+
+    @Override
+    public void logIfEnabled(final String fqcn, final Level level, final Marker marker, final String message, final Object p0, final Object p1, final Object p2, final Object p3, final Object p4, final Object p5, final Object p6) {
+        if (!isEnabled(level, marker, message, p0, p1, p2, p3, p4, p5, p6)) {
+            return;
+        }
+        logger.logIfEnabled(fqcn, level, marker, message, sanitize(p0), sanitize(p1), sanitize(p2), sanitize(p3), sanitize(p4), sanitize(p5), sanitize(p6));
     }
 
     @Override
-    public void logIfEnabled(final String fqcn, final Level level, final Marker marker, final String message, final Throwable throwable) {
-        if (super.isEnabled(level, marker, message, throwable)) {
-            Object sanitize = sanitize(throwable);
-            if (sanitize instanceof Throwable) {
-                super.logMessage(fqcn, level, marker, message, sanitize);
-            } else {
-                super.logMessage(fqcn, level, marker, message + sanitize);
-            }
+    public void logIfEnabled(final String fqcn, final Level level, final Marker marker, final String message, final Object p0, final Object p1, final Object p2, final Object p3, final Object p4, final Object p5, final Object p6, final Object p7) {
+        if (!isEnabled(level, marker, message, p0, p1, p2, p3, p4, p5, p6, p7)) {
+            return;
+        }
+        logger.logIfEnabled(fqcn, level, marker, message, sanitize(p0), sanitize(p1), sanitize(p2), sanitize(p3), sanitize(p4), sanitize(p5), sanitize(p6), sanitize(p7));
+    }
+
+    @Override
+    public void logIfEnabled(final String fqcn, final Level level, final Marker marker, final String message, final Object p0, final Object p1, final Object p2, final Object p3, final Object p4, final Object p5, final Object p6, final Object p7, final Object p8) {
+        if (!isEnabled(level, marker, message, p0, p1, p2, p3, p4, p5, p6, p7, p8)) {
+            return;
+        }
+        logger.logIfEnabled(fqcn, level, marker, message, sanitize(p0), sanitize(p1), sanitize(p2), sanitize(p3), sanitize(p4), sanitize(p5), sanitize(p6), sanitize(p7), sanitize(p8));
+    }
+
+    @Override
+    public void logIfEnabled(final String fqcn, final Level level, final Marker marker, final String message, final Object p0, final Object p1, final Object p2, final Object p3, final Object p4, final Object p5, final Object p6, final Object p7, final Object p8, final Object p9) {
+        if (!isEnabled(level, marker, message, p0, p1, p2, p3, p4, p5, p6, p7, p8, p9)) {
+            return;
+        }
+        logger.logIfEnabled(fqcn, level, marker, message, sanitize(p0), sanitize(p1), sanitize(p2), sanitize(p3), sanitize(p4), sanitize(p5), sanitize(p6), sanitize(p7), sanitize(p8), sanitize(p9));
+    }
+
+    /**
+     * All other logging methods of AbstractLogger end up here once the event is built.
+     */
+    @Override
+    public void logMessage(final String fqcn, final Level level, final Marker marker, final Message message, final Throwable t) {
+        if (policy.isSuspended()) {
+            return;
+        }
+        Object sanitized = sanitize(t);
+        if (sanitized == null || sanitized instanceof Throwable) {
+            logger.logMessage(fqcn, level, marker, message, (Throwable) sanitized);
+        } else {
+            logger.logMessage(fqcn, level, marker, new SimpleMessage(withReplacement(message, sanitized)), null);
+        }
+    }
+
+    /**
+     * @return text of the message followed by the replacement text, separated by a space as in Log4jLoggerAdaptor,
+     * or the replacement text alone if there is no message
+     */
+    private static String withReplacement(Object message, Object replacement) {
+        if (message == null) {
+            return String.valueOf(replacement);
         }
+        String text = message instanceof Message ? ((Message) message).getFormattedMessage() : String.valueOf(message);
+        return text + " " + replacement;
     }
 }
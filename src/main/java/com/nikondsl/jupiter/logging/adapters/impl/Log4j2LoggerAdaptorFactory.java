@@ -0,0 +1,28 @@
+package com.nikondsl.jupiter.logging.adapters.impl;
+
+import com.nikondsl.jupiter.logging.adapters.LoggerAdapterRepository;
+import com.nikondsl.jupiter.logging.adapters.LoggerAdaptorFactory;
+import com.nikondsl.jupiter.logging.adapters.LoggingSupported;
+
+public class Log4j2LoggerAdaptorFactory implements LoggerAdaptorFactory {
+
+    /**
+     * Concrete logger classes are accepted to find the factory for a logger object,
+     * fields declared with them cannot hold the adaptor and are skipped by LoggingExtension.
+     */
+    static boolean accepts(String className) {
+        return "org.apache.logging.log4j.Logger".equals(className) ||
+               "org.apache.logging.log4j.core.Logger".equals(className) ||
+               "org.apache.logging.log4j.core.async.AsyncLogger".equals(className);
+    }
+
+    @Override
+    public boolean isClassAcceptableForReplacing(String className) {
+        return accepts(className);
+    }
+
+    @Override
+    public LoggingSupported create(Object logger, LoggerAdapterRepository repository) {
+        return new Log4j2LoggerAdaptor(logger, repository);
+    }
+}
@@ -2,7 +2,7 @@ package com.nikondsl.jupiter.logging.adapters.impl;
 
 import com.nikondsl.jupiter.logging.adapters.LoggerAdapterRepository;
 import com.nikondsl.jupiter.logging.adapters.LoggingSupported;
-import com.nikondsl.jupiter.logging.annotations.ClassAndMessage;
+import com.nikondsl.jupiter.logging.policy.SuppressionPolicy;
 import org.apache.log4j.Appender;
 import org.apache.log4j.Level;
 import org.apache.log4j.Logger;
@@ -10,14 +10,13 @@ import org.apache.log4j.Priority;
 import org.apache.log4j.spi.LoggerRepository;
 import org.apache.log4j.spi.LoggingEvent;
 
-import java.lang.reflect.Field;
 import java.util.Enumeration;
 import java.util.ResourceBundle;
-import java.util.concurrent.atomic.AtomicBoolean;
 
 public class Log4jLoggerAdaptor extends Logger implements LoggingSupported {
     private Logger logger;
     private LoggerAdapterRepository delegate;
+    private volatile SuppressionPolicy policy = SuppressionPolicy.EMPTY;
 
     public Log4jLoggerAdaptor(Object logger, LoggerAdapterRepository delegate) {
         super("Log4jLoggerAdapter");
@@ -27,53 +26,37 @@ public class Log4jLoggerAdaptor extends Logger implements LoggingSupported {
 
     @Override
     public boolean isClassAcceptableForReplacing(String className) {
-        return "org.apache.log4j.Logger".equals(className);
+        return Log4jLoggerAdaptorFactory.accepts(className);
     }
 
     @Override
-    public void setExceptionClassesToHide(Class[] values) {
-        delegate.setExceptionClassesToHide(values);
-    }
-
-    @Override
-    public void setExceptionMessagesToHide(String[] values) {
-        delegate.setExceptionMessagesToHide(values);
-    }
-
-    @Override
-    public void setExceptionClassAndMessageToHide(ClassAndMessage[] values) {
-        delegate.setExceptionClassAndMessageToHide(values);
-    }
-
-    @Override
-    public void setSuspendLogging(AtomicBoolean suspendLogging) {
-        if (delegate != null) {
-            delegate.setSuspendLogic(suspendLogging);
-        }
+    public void setSuppressionPolicy(SuppressionPolicy policy) {
+        this.policy = policy;
     }
 
     @Override
     public Object sanitize(Object arg) {
-        return delegate.sanitize(arg);
+        return delegate.sanitize(arg, policy);
     }
 
     @Override
     public Object[] getSanitizedCopy(Object[] arguments) {
-        return delegate.getSanitizedCopy(arguments);
-    }
-
-    @Override
-    public void unwrap(Field field, Object key) throws ReflectiveOperationException {
-        field.set(key, logger);
+        return delegate.getSanitizedCopy(arguments, policy);
     }
 
     public void trace(Object message) {
+        if (policy.isSuspended()) {
+            return;
+        }
         logger.trace(message);
     }
 
     public void trace(Object message, Throwable t) {
+        if (policy.isSuspended() || !logger.isTraceEnabled()) {
+            return;
+        }
         Object sanitized = sanitize(t);
-        if (sanitized instanceof Throwable) {
+        if (sanitized == null || sanitized instanceof Throwable) {
             logger.trace(message, (Throwable) sanitized);
         } else {
             logger.trace(message + " " + sanitized);
@@ -81,7 +64,7 @@ public class Log4jLoggerAdaptor extends Logger implements LoggingSupported {
     }
 
     public boolean isTraceEnabled() {
-        return logger.isTraceEnabled();
+        return !policy.isSuspended() && logger.isTraceEnabled();
     }
 
     public void addAppender(Appender newAppender) {
@@ -89,6 +72,9 @@ public class Log4jLoggerAdaptor extends Logger implements LoggingSupported {
     }
 
     public void assertLog(boolean assertion, String msg) {
+        if (policy.isSuspended()) {
+            return;
+        }
         logger.assertLog(assertion, msg);
     }
 
@@ -97,12 +83,18 @@ public class Log4jLoggerAdaptor extends Logger implements LoggingSupported {
     }
 
     public void debug(Object message) {
+        if (policy.isSuspended()) {
+            return;
+        }
         logger.debug(message);
     }
 
     public void debug(Object message, Throwable t) {
+        if (policy.isSuspended() || !logger.isDebugEnabled()) {
+            return;
+        }
         Object sanitized = sanitize(t);
-        if (sanitized instanceof Throwable) {
+        if (sanitized == null || sanitized instanceof Throwable) {
             logger.debug(message, (Throwable) sanitized);
         } else {
             logger.debug(message + " " + sanitized);
@@ -110,12 +102,18 @@ public class Log4jLoggerAdaptor extends Logger implements LoggingSupported {
     }
 
     public void error(Object message) {
+        if (policy.isSuspended()) {
+            return;
+        }
         logger.error(message);
     }
 
     public void error(Object message, Throwable t) {
+        if (policy.isSuspended() || !logger.isEnabledFor(Level.ERROR)) {
+            return;
+        }
         Object sanitized = sanitize(t);
-        if (sanitized instanceof Throwable) {
+        if (sanitized == null || sanitized instanceof Throwable) {
             logger.error(message, (Throwable) sanitized);
         } else {
             logger.error(message + " " + sanitized);
@@ -123,12 +121,18 @@ public class Log4jLoggerAdaptor extends Logger implements LoggingSupported {
     }
 
     public void fatal(Object message) {
+        if (policy.isSuspended()) {
+            return;
+        }
         logger.fatal(message);
     }
 
     public void fatal(Object message, Throwable t) {
+        if (policy.isSuspended() || !logger.isEnabledFor(Level.FATAL)) {
+            return;
+        }
         Object sanitized = sanitize(t);
-        if (sanitized instanceof Throwable) {
+        if (sanitized == null || sanitized instanceof Throwable) {
             logger.fatal(message, (Throwable) sanitized);
         } else {
             logger.fatal(message + " " + sanitized);
@@ -168,11 +172,22 @@ public class Log4jLoggerAdaptor extends Logger implements LoggingSupported {
     }
 
     public void info(Object message) {
+        if (policy.isSuspended()) {
+            return;
+        }
         logger.info(message);
     }
 
     public void info(Object message, Throwable t) {
-        logger.info(message, (Throwable) sanitize(t));
+        if (policy.isSuspended() || !logger.isInfoEnabled()) {
+            return;
+        }
+        Object sanitized = sanitize(t);
+        if (sanitized == null || sanitized instanceof Throwable) {
+            logger.info(message, (Throwable) sanitized);
+        } else {
+            logger.info(message + " " + sanitized);
+        }
     }
 
     public boolean isAttached(Appender appender) {
@@ -180,35 +195,64 @@ public class Log4jLoggerAdaptor extends Logger implements LoggingSupported {
     }
 
     public boolean isDebugEnabled() {
-        return logger.isDebugEnabled();
+        return !policy.isSuspended() && logger.isDebugEnabled();
     }
 
     public boolean isEnabledFor(Priority level) {
-        return logger.isEnabledFor(level);
+        return !policy.isSuspended() && logger.isEnabledFor(level);
     }
 
     public boolean isInfoEnabled() {
-        return logger.isInfoEnabled();
+        return !policy.isSuspended() && logger.isInfoEnabled();
     }
 
     public void l7dlog(Priority priority, String key, Throwable t) {
-        logger.l7dlog(priority, key, (Throwable) sanitize(t));
+        if (policy.isSuspended() || !logger.isEnabledFor(priority)) {
+            return;
+        }
+        // localized messages cannot be extended with the replacement text, so a hidden throwable is just dropped
+        Object sanitized = sanitize(t);
+        logger.l7dlog(priority, key, sanitized instanceof Throwable ? (Throwable) sanitized : null);
     }
 
     public void l7dlog(Priority priority, String key, Object[] params, Throwable t) {
-        logger.l7dlog(priority, key, params, (Throwable) sanitize(t));
+        if (policy.isSuspended() || !logger.isEnabledFor(priority)) {
+            return;
+        }
+        // localized messages cannot be extended with the replacement text, so a hidden throwable is just dropped
+        Object sanitized = sanitize(t);
+        logger.l7dlog(priority, key, params, sanitized instanceof Throwable ? (Throwable) sanitized : null);
     }
 
     public void log(Priority priority, Object message, Throwable t) {
-        logger.log(priority, message, (Throwable) sanitize(t));
+        if (policy.isSuspended() || !logger.isEnabledFor(priority)) {
+            return;
+        }
+        Object sanitized = sanitize(t);
+        if (sanitized == null || sanitized instanceof Throwable) {
+            logger.log(priority, message, (Throwable) sanitized);
+        } else {
+            logger.log(priority, message + " " + sanitized);
+        }
     }
 
     public void log(Priority priority, Object message) {
+        if (policy.isSuspended()) {
+            return;
+        }
         logger.log(priority, message);
     }
 
     public void log(String callerFQCN, Priority level, Object message, Throwable t) {
-        logger.log(callerFQCN, level, message, (Throwable) sanitize(t));
+        if (policy.isSuspended() || !logger.isEnabledFor(level)) {
+            return;
+        }
+        Object sanitized = sanitize(t);
+        if (sanitized == null || sanitized instanceof Throwable) {
+            logger.log(callerFQCN, level, message, (Throwable) sanitized);
+        } else {
+            logger.log(callerFQCN, level, message + " " + sanitized, null);
+        }
     }
 
     public void removeAllAppenders() {
@@ -240,10 +284,21 @@ public class Log4jLoggerAdaptor extends Logger implements LoggingSupported {
     }
 
     public void warn(Object message) {
+        if (policy.isSuspended()) {
+            return;
+        }
         logger.warn(message);
     }
 
     public void warn(Object message, Throwable t) {
-        logger.warn(message, (Throwable) sanitize(t));
+        if (policy.isSuspended() || !logger.isEnabledFor(Level.WARN)) {
+            return;
+        }
+        Object sanitized = sanitize(t);
+        if (sanitized == null || sanitized instanceof Throwable) {
+            logger.warn(message, (Throwable) sanitized);
+        } else {
+            logger.warn(message + " " + sanitized);
+        }
     }
 }
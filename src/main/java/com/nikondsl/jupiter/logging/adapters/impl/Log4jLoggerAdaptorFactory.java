@@ -0,0 +1,22 @@
+package com.nikondsl.jupiter.logging.adapters.impl;
+
+import com.nikondsl.jupiter.logging.adapters.LoggerAdapterRepository;
+import com.nikondsl.jupiter.logging.adapters.LoggerAdaptorFactory;
+import com.nikondsl.jupiter.logging.adapters.LoggingSupported;
+
+public class Log4jLoggerAdaptorFactory implements LoggerAdaptorFactory {
+
+    static boolean accepts(String className) {
+        return "org.apache.log4j.Logger".equals(className);
+    }
+
+    @Override
+    public boolean isClassAcceptableForReplacing(String className) {
+        return accepts(className);
+    }
+
+    @Override
+    public LoggingSupported create(Object logger, LoggerAdapterRepository repository) {
+        return new Log4jLoggerAdaptor(logger, repository);
+    }
+}
@@ -2,17 +2,16 @@ package com.nikondsl.jupiter.logging.adapters.impl;
 
 import com.nikondsl.jupiter.logging.adapters.LoggerAdapterRepository;
 import com.nikondsl.jupiter.logging.adapters.LoggingSupported;
-import com.nikondsl.jupiter.logging.annotations.ClassAndMessage;
+import com.nikondsl.jupiter.logging.policy.SuppressionPolicy;
 import org.slf4j.Logger;
 import org.slf4j.Marker;
 
-import java.lang.reflect.Field;
-import java.util.concurrent.atomic.AtomicBoolean;
 
 public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
 
     private Logger logger;
     private LoggerAdapterRepository delegate;
+    private volatile SuppressionPolicy policy = SuppressionPolicy.EMPTY;
 
     public Slf4JLoggerAdaptor(Object logger, LoggerAdapterRepository delegate) {
         this.logger = (Logger) logger;
@@ -21,45 +20,22 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
 
     @Override
     public boolean isClassAcceptableForReplacing(String className) {
-        return "org.slf4j.Logger".equals(className) ||
-               "org.apache.logging.slf4j.Log4jLogger".equals(className);
+        return Slf4JLoggerAdaptorFactory.accepts(className);
     }
 
     @Override
-    public void setExceptionClassesToHide(Class[] values) {
-        delegate.setExceptionClassesToHide(values);
-    }
-
-    @Override
-    public void setExceptionMessagesToHide(String[] values) {
-        delegate.setExceptionMessagesToHide(values);
-    }
-
-    @Override
-    public void setExceptionClassAndMessageToHide(ClassAndMessage[] values) {
-        delegate.setExceptionClassAndMessageToHide(values);
-    }
-
-    @Override
-    public void setSuspendLogging(AtomicBoolean suspendLogging) {
-        if (delegate != null) {
-            delegate.setSuspendLogic(suspendLogging);
-        }
+    public void setSuppressionPolicy(SuppressionPolicy policy) {
+        this.policy = policy;
     }
 
     @Override
     public Object sanitize(Object arg) {
-        return delegate.sanitize(arg);
+        return delegate.sanitize(arg, policy);
     }
 
     @Override
     public Object[] getSanitizedCopy(Object[] arguments) {
-        return delegate.getSanitizedCopy(arguments);
-    }
-
-    @Override
-    public void unwrap(Field field, Object key) throws ReflectiveOperationException {
-        field.set(key, logger);
+        return delegate.getSanitizedCopy(arguments, policy);
     }
 
     /**
@@ -80,7 +56,7 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public boolean isTraceEnabled() {
-        return logger.isTraceEnabled();
+        return !policy.isSuspended() && logger.isTraceEnabled();
     }
 
     /**
@@ -91,6 +67,9 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public void trace(String msg) {
+        if (policy.isSuspended()) {
+            return;
+        }
         logger.trace(msg);
     }
 
@@ -107,6 +86,9 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public void trace(String format, Object arg) {
+        if (policy.isSuspended()) {
+            return;
+        }
         if (logger.isTraceEnabled()) {
             logger.trace(format, sanitize(arg));
         }
@@ -126,6 +108,9 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public void trace(String format, Object arg1, Object arg2) {
+        if (policy.isSuspended()) {
+            return;
+        }
         if (logger.isTraceEnabled()) {
             logger.trace(format, sanitize(arg1), sanitize(arg2));
         }
@@ -147,6 +132,9 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public void trace(String format, Object... arguments) {
+        if (policy.isSuspended()) {
+            return;
+        }
         if (logger.isTraceEnabled()) {
             logger.trace(format, getSanitizedCopy(arguments));
         }
@@ -162,7 +150,12 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public void trace(String msg, Throwable t) {
-        logger.trace(msg, sanitize(t));
+        if (policy.isSuspended()) {
+            return;
+        }
+        if (logger.isTraceEnabled()) {
+            logger.trace(msg, sanitize(t));
+        }
     }
 
     /**
@@ -177,7 +170,7 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public boolean isTraceEnabled(Marker marker) {
-        return logger.isTraceEnabled(marker);
+        return !policy.isSuspended() && logger.isTraceEnabled(marker);
     }
 
     /**
@@ -189,6 +182,9 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public void trace(Marker marker, String msg) {
+        if (policy.isSuspended()) {
+            return;
+        }
         logger.trace(marker, msg);
     }
 
@@ -203,7 +199,10 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public void trace(Marker marker, String format, Object arg) {
-        if (logger.isTraceEnabled()) {
+        if (policy.isSuspended()) {
+            return;
+        }
+        if (logger.isTraceEnabled(marker)) {
             logger.trace(marker, format, sanitize(arg));
         }
     }
@@ -221,7 +220,10 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public void trace(Marker marker, String format, Object arg1, Object arg2) {
-        if (logger.isTraceEnabled()) {
+        if (policy.isSuspended()) {
+            return;
+        }
+        if (logger.isTraceEnabled(marker)) {
             logger.trace(marker, format, sanitize(arg1), sanitize(arg2));
         }
     }
@@ -238,7 +240,10 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public void trace(Marker marker, String format, Object... argArray) {
-        if (logger.isTraceEnabled()) {
+        if (policy.isSuspended()) {
+            return;
+        }
+        if (logger.isTraceEnabled(marker)) {
             logger.trace(marker, format, getSanitizedCopy(argArray));
         }
     }
@@ -254,7 +259,12 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public void trace(Marker marker, String msg, Throwable t) {
-        logger.trace(marker, msg, sanitize(t));
+        if (policy.isSuspended()) {
+            return;
+        }
+        if (logger.isTraceEnabled(marker)) {
+            logger.trace(marker, msg, sanitize(t));
+        }
     }
 
     /**
@@ -265,7 +275,7 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public boolean isDebugEnabled() {
-        return logger.isDebugEnabled();
+        return !policy.isSuspended() && logger.isDebugEnabled();
     }
 
     /**
@@ -275,6 +285,9 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public void debug(String msg) {
+        if (policy.isSuspended()) {
+            return;
+        }
         logger.debug(msg);
     }
 
@@ -289,7 +302,12 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public void debug(String format, Object arg) {
-        logger.debug(format, sanitize(arg));
+        if (policy.isSuspended()) {
+            return;
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug(format, sanitize(arg));
+        }
     }
 
     /**
@@ -304,7 +322,12 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public void debug(String format, Object arg1, Object arg2) {
-        logger.debug(format, sanitize(arg1), sanitize(arg2));
+        if (policy.isSuspended()) {
+            return;
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug(format, sanitize(arg1), sanitize(arg2));
+        }
     }
 
     /**
@@ -322,7 +345,12 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public void debug(String format, Object... arguments) {
-        logger.debug(format, getSanitizedCopy(arguments));
+        if (policy.isSuspended()) {
+            return;
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug(format, getSanitizedCopy(arguments));
+        }
     }
 
     /**
@@ -333,7 +361,12 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public void debug(String msg, Throwable t) {
-        logger.debug(msg, sanitize(t));
+        if (policy.isSuspended()) {
+            return;
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug(msg, sanitize(t));
+        }
     }
 
     /**
@@ -346,7 +379,7 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public boolean isDebugEnabled(Marker marker) {
-        return logger.isDebugEnabled(marker);
+        return !policy.isSuspended() && logger.isDebugEnabled(marker);
     }
 
     /**
@@ -356,6 +389,9 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public void debug(Marker marker, String msg) {
+        if (policy.isSuspended()) {
+            return;
+        }
         logger.debug(marker, msg);
     }
 
@@ -368,7 +404,12 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public void debug(Marker marker, String format, Object arg) {
-        logger.debug(marker, format, sanitize(arg));
+        if (policy.isSuspended()) {
+            return;
+        }
+        if (logger.isDebugEnabled(marker)) {
+            logger.debug(marker, format, sanitize(arg));
+        }
     }
 
     /**
@@ -382,7 +423,12 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public void debug(Marker marker, String format, Object arg1, Object arg2) {
-        logger.debug(marker, format, sanitize(arg1), sanitize(arg2));
+        if (policy.isSuspended()) {
+            return;
+        }
+        if (logger.isDebugEnabled(marker)) {
+            logger.debug(marker, format, sanitize(arg1), sanitize(arg2));
+        }
     }
 
     /**
@@ -395,7 +441,12 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public void debug(Marker marker, String format, Object... arguments) {
-        logger.debug(marker, format, getSanitizedCopy(arguments));
+        if (policy.isSuspended()) {
+            return;
+        }
+        if (logger.isDebugEnabled(marker)) {
+            logger.debug(marker, format, getSanitizedCopy(arguments));
+        }
     }
 
     /**
@@ -407,7 +458,12 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public void debug(Marker marker, String msg, Throwable t) {
-        logger.debug(marker, msg, sanitize(t));
+        if (policy.isSuspended()) {
+            return;
+        }
+        if (logger.isDebugEnabled(marker)) {
+            logger.debug(marker, msg, sanitize(t));
+        }
     }
 
     /**
@@ -418,7 +474,7 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public boolean isInfoEnabled() {
-        return logger.isInfoEnabled();
+        return !policy.isSuspended() && logger.isInfoEnabled();
     }
 
     /**
@@ -428,6 +484,9 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public void info(String msg) {
+        if (policy.isSuspended()) {
+            return;
+        }
         logger.info(msg);
     }
 
@@ -442,7 +501,12 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public void info(String format, Object arg) {
-        logger.info(format, sanitize(arg));
+        if (policy.isSuspended()) {
+            return;
+        }
+        if (logger.isInfoEnabled()) {
+            logger.info(format, sanitize(arg));
+        }
     }
 
     /**
@@ -457,7 +521,12 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public void info(String format, Object arg1, Object arg2) {
-        logger.info(format, sanitize(arg1), sanitize(arg2));
+        if (policy.isSuspended()) {
+            return;
+        }
+        if (logger.isInfoEnabled()) {
+            logger.info(format, sanitize(arg1), sanitize(arg2));
+        }
     }
 
     /**
@@ -475,7 +544,12 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public void info(String format, Object... arguments) {
-        logger.info(format, getSanitizedCopy(arguments));
+        if (policy.isSuspended()) {
+            return;
+        }
+        if (logger.isInfoEnabled()) {
+            logger.info(format, getSanitizedCopy(arguments));
+        }
     }
 
     /**
@@ -486,7 +560,12 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public void info(String msg, Throwable t) {
-        logger.info(msg, sanitize(t));
+        if (policy.isSuspended()) {
+            return;
+        }
+        if (logger.isInfoEnabled()) {
+            logger.info(msg, sanitize(t));
+        }
     }
 
     /**
@@ -498,7 +577,7 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public boolean isInfoEnabled(Marker marker) {
-        return logger.isInfoEnabled(marker);
+        return !policy.isSuspended() && logger.isInfoEnabled(marker);
     }
 
     /**
@@ -508,6 +587,9 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public void info(Marker marker, String msg) {
+        if (policy.isSuspended()) {
+            return;
+        }
         logger.info(marker, msg);
     }
 
@@ -520,7 +602,12 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public void info(Marker marker, String format, Object arg) {
-        logger.info(marker, format, sanitize(arg));
+        if (policy.isSuspended()) {
+            return;
+        }
+        if (logger.isInfoEnabled(marker)) {
+            logger.info(marker, format, sanitize(arg));
+        }
     }
 
     /**
@@ -534,7 +621,12 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public void info(Marker marker, String format, Object arg1, Object arg2) {
-        logger.info(marker, format, sanitize(arg1), sanitize(arg2));
+        if (policy.isSuspended()) {
+            return;
+        }
+        if (logger.isInfoEnabled(marker)) {
+            logger.info(marker, format, sanitize(arg1), sanitize(arg2));
+        }
     }
 
     /**
@@ -547,7 +639,12 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public void info(Marker marker, String format, Object... arguments) {
-        logger.info(marker, format, getSanitizedCopy(arguments));
+        if (policy.isSuspended()) {
+            return;
+        }
+        if (logger.isInfoEnabled(marker)) {
+            logger.info(marker, format, getSanitizedCopy(arguments));
+        }
     }
 
     /**
@@ -559,7 +656,12 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public void info(Marker marker, String msg, Throwable t) {
-        logger.info(marker, msg, sanitize(t));
+        if (policy.isSuspended()) {
+            return;
+        }
+        if (logger.isInfoEnabled(marker)) {
+            logger.info(marker, msg, sanitize(t));
+        }
     }
 
     /**
@@ -570,7 +672,7 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public boolean isWarnEnabled() {
-        return logger.isWarnEnabled();
+        return !policy.isSuspended() && logger.isWarnEnabled();
     }
 
     /**
@@ -580,6 +682,9 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public void warn(String msg) {
+        if (policy.isSuspended()) {
+            return;
+        }
         logger.warn(msg);
     }
 
@@ -594,7 +699,12 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public void warn(String format, Object arg) {
-        logger.warn(format, sanitize(arg));
+        if (policy.isSuspended()) {
+            return;
+        }
+        if (logger.isWarnEnabled()) {
+            logger.warn(format, sanitize(arg));
+        }
     }
 
     /**
@@ -612,7 +722,12 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public void warn(String format, Object... arguments) {
-        logger.warn(format, getSanitizedCopy(arguments));
+        if (policy.isSuspended()) {
+            return;
+        }
+        if (logger.isWarnEnabled()) {
+            logger.warn(format, getSanitizedCopy(arguments));
+        }
     }
 
     /**
@@ -627,7 +742,12 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public void warn(String format, Object arg1, Object arg2) {
-        logger.warn(format, sanitize(arg1), sanitize(arg2));
+        if (policy.isSuspended()) {
+            return;
+        }
+        if (logger.isWarnEnabled()) {
+            logger.warn(format, sanitize(arg1), sanitize(arg2));
+        }
     }
 
     /**
@@ -638,7 +758,12 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public void warn(String msg, Throwable t) {
-        logger.warn(msg, sanitize(t));
+        if (policy.isSuspended()) {
+            return;
+        }
+        if (logger.isWarnEnabled()) {
+            logger.warn(msg, sanitize(t));
+        }
     }
 
     /**
@@ -651,7 +776,7 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public boolean isWarnEnabled(Marker marker) {
-        return logger.isWarnEnabled(marker);
+        return !policy.isSuspended() && logger.isWarnEnabled(marker);
     }
 
     /**
@@ -661,6 +786,9 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public void warn(Marker marker, String msg) {
+        if (policy.isSuspended()) {
+            return;
+        }
         logger.warn(marker, msg);
     }
 
@@ -673,7 +801,12 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public void warn(Marker marker, String format, Object arg) {
-        logger.warn(marker, format, sanitize(arg));
+        if (policy.isSuspended()) {
+            return;
+        }
+        if (logger.isWarnEnabled(marker)) {
+            logger.warn(marker, format, sanitize(arg));
+        }
     }
 
     /**
@@ -687,7 +820,12 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public void warn(Marker marker, String format, Object arg1, Object arg2) {
-        logger.warn(marker, format, sanitize(arg1), sanitize(arg2));
+        if (policy.isSuspended()) {
+            return;
+        }
+        if (logger.isWarnEnabled(marker)) {
+            logger.warn(marker, format, sanitize(arg1), sanitize(arg2));
+        }
     }
 
     /**
@@ -700,7 +838,12 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public void warn(Marker marker, String format, Object... arguments) {
-        logger.warn(marker, format, getSanitizedCopy(arguments));
+        if (policy.isSuspended()) {
+            return;
+        }
+        if (logger.isWarnEnabled(marker)) {
+            logger.warn(marker, format, getSanitizedCopy(arguments));
+        }
     }
 
     /**
@@ -712,7 +855,12 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public void warn(Marker marker, String msg, Throwable t) {
-        logger.warn(marker, msg, sanitize(t));
+        if (policy.isSuspended()) {
+            return;
+        }
+        if (logger.isWarnEnabled(marker)) {
+            logger.warn(marker, msg, sanitize(t));
+        }
     }
 
     /**
@@ -723,7 +871,7 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public boolean isErrorEnabled() {
-        return logger.isErrorEnabled();
+        return !policy.isSuspended() && logger.isErrorEnabled();
     }
 
     /**
@@ -733,6 +881,9 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public void error(String msg) {
+        if (policy.isSuspended()) {
+            return;
+        }
         logger.error(msg);
     }
 
@@ -747,7 +898,12 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public void error(String format, Object arg) {
-        logger.error(format, sanitize(arg));
+        if (policy.isSuspended()) {
+            return;
+        }
+        if (logger.isErrorEnabled()) {
+            logger.error(format, sanitize(arg));
+        }
     }
 
     /**
@@ -762,7 +918,12 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public void error(String format, Object arg1, Object arg2) {
-        logger.error(format, sanitize(arg1), sanitize(arg2));
+        if (policy.isSuspended()) {
+            return;
+        }
+        if (logger.isErrorEnabled()) {
+            logger.error(format, sanitize(arg1), sanitize(arg2));
+        }
     }
 
     /**
@@ -780,7 +941,12 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public void error(String format, Object... arguments) {
-        logger.error(format, getSanitizedCopy(arguments));
+        if (policy.isSuspended()) {
+            return;
+        }
+        if (logger.isErrorEnabled()) {
+            logger.error(format, getSanitizedCopy(arguments));
+        }
     }
 
     /**
@@ -791,7 +957,12 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public void error(String msg, Throwable t) {
-        logger.error(msg, sanitize(t));
+        if (policy.isSuspended()) {
+            return;
+        }
+        if (logger.isErrorEnabled()) {
+            logger.error(msg, sanitize(t));
+        }
     }
 
     /**
@@ -804,7 +975,7 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public boolean isErrorEnabled(Marker marker) {
-        return logger.isErrorEnabled(marker);
+        return !policy.isSuspended() && logger.isErrorEnabled(marker);
     }
 
     /**
@@ -814,6 +985,9 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public void error(Marker marker, String msg) {
+        if (policy.isSuspended()) {
+            return;
+        }
         logger.error(marker, msg);
     }
 
@@ -826,7 +1000,12 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public void error(Marker marker, String format, Object arg) {
-        logger.error(marker, format, sanitize(arg));
+        if (policy.isSuspended()) {
+            return;
+        }
+        if (logger.isErrorEnabled(marker)) {
+            logger.error(marker, format, sanitize(arg));
+        }
     }
 
     /**
@@ -840,7 +1019,12 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public void error(Marker marker, String format, Object arg1, Object arg2) {
-        logger.error(marker, format, sanitize(arg1), sanitize(arg2));
+        if (policy.isSuspended()) {
+            return;
+        }
+        if (logger.isErrorEnabled(marker)) {
+            logger.error(marker, format, sanitize(arg1), sanitize(arg2));
+        }
     }
 
     /**
@@ -853,7 +1037,12 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public void error(Marker marker, String format, Object... arguments) {
-        logger.error(marker, format, getSanitizedCopy(arguments));
+        if (policy.isSuspended()) {
+            return;
+        }
+        if (logger.isErrorEnabled(marker)) {
+            logger.error(marker, format, getSanitizedCopy(arguments));
+        }
     }
 
     /**
@@ -866,6 +1055,11 @@ public class Slf4JLoggerAdaptor implements LoggingSupported, org.slf4j.Logger {
      */
     @Override
     public void error(Marker marker, String msg, Throwable t) {
-        logger.error(marker, msg, sanitize(t));
+        if (policy.isSuspended()) {
+            return;
+        }
+        if (logger.isErrorEnabled(marker)) {
+            logger.error(marker, msg, sanitize(t));
+        }
     }
 }
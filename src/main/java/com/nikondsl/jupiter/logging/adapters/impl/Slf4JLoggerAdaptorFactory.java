@@ -0,0 +1,25 @@
+package com.nikondsl.jupiter.logging.adapters.impl;
+
+import com.nikondsl.jupiter.logging.adapters.LoggerAdapterRepository;
+import com.nikondsl.jupiter.logging.adapters.LoggerAdaptorFactory;
+import com.nikondsl.jupiter.logging.adapters.LoggingSupported;
+
+public class Slf4JLoggerAdaptorFactory implements LoggerAdaptorFactory {
+
+    static boolean accepts(String className) {
+        // loggers returned by Slf4jSuppressingLoggerFactory are adaptors themselves
+        return "org.slf4j.Logger".equals(className) ||
+               "org.apache.logging.slf4j.Log4jLogger".equals(className) ||
+               "com.nikondsl.jupiter.logging.adapters.impl.Slf4JLoggerAdaptor".equals(className);
+    }
+
+    @Override
+    public boolean isClassAcceptableForReplacing(String className) {
+        return accepts(className);
+    }
+
+    @Override
+    public LoggingSupported create(Object logger, LoggerAdapterRepository repository) {
+        return new Slf4JLoggerAdaptor(logger, repository);
+    }
+}
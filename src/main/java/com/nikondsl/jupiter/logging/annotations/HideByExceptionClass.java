@@ -6,7 +6,7 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
 @Retention(RetentionPolicy.RUNTIME)
-@Target(ElementType.FIELD)
+@Target({ElementType.FIELD, ElementType.TYPE, ElementType.METHOD})
 public @interface HideByExceptionClass {
     Class[] value() default {IllegalArgumentException.class, ReflectiveOperationException.class};
 }
@@ -0,0 +1,19 @@
+package com.nikondsl.jupiter.logging.annotations;
+
+/**
+ * How values of @HideByExceptionMessage are matched against an exception message.
+ */
+public enum MatchType {
+    /**
+     * Message contains the value (default).
+     */
+    CONTAINS,
+    /**
+     * Value is a java.util.regex pattern found anywhere in the message.
+     */
+    REGEX,
+    /**
+     * Value is a glob ('*' - any characters, '?' - any single character) matching the whole message.
+     */
+    GLOB
+}
@@ -0,0 +1,16 @@
+package com.nikondsl.jupiter.logging.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Hides all exceptions logged through loggers wrapped for the annotated test class, as if all levels
+ * were disabled. Unlike LoggingExtension.setSuspendLogging it applies to this class only,
+ * so test classes running in parallel are not affected.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface SuspendLogging {
+}
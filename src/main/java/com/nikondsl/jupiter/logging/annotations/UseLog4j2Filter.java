@@ -0,0 +1,16 @@
+package com.nikondsl.jupiter.logging.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Applies rules declared on the test class through a filter installed on the active Log4j2 configuration
+ * instead of wrapping logger fields. The filter can only drop an event, so a log message with a hidden
+ * exception is not logged at all (no replacement text is written).
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface UseLog4j2Filter {
+}
@@ -0,0 +1,16 @@
+package com.nikondsl.jupiter.logging.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Applies rules declared on the test class to every logger returned by SLF4J LoggerFactory instead of
+ * wrapping logger fields, so loggers in 'final' fields, collections or created lazily are covered as well.
+ * Loggers obtained before the first test class using it are not affected.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface UseSlf4jLoggerFactory {
+}
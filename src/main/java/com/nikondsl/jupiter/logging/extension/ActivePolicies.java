@@ -0,0 +1,52 @@
+package com.nikondsl.jupiter.logging.extension;
+
+import com.nikondsl.jupiter.logging.adapters.LoggingSupported;
+import com.nikondsl.jupiter.logging.policy.SuppressionPolicy;
+
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Policies test classes set to wrappers. A wrapper (e.g. of a static logger) may be used by test classes
+ * running in parallel: each class keeps its own entry and the wrapper follows all of them, so a class
+ * finishing does not take the rules away from another one. With a single class the policy is set as is.
+ */
+final class ActivePolicies {
+    // wrapper -> state of a test class -> policy of that class, guarded by itself
+    private static final Map<LoggingSupported, Map<Object, SuppressionPolicy>> POLICIES = new IdentityHashMap<>();
+
+    private ActivePolicies() {
+    }
+
+    static void activate(LoggingSupported wrapper, Object owner, SuppressionPolicy policy) {
+        synchronized (POLICIES) {
+            Map<Object, SuppressionPolicy> byOwner = POLICIES.computeIfAbsent(wrapper, key -> new LinkedHashMap<>());
+            byOwner.put(owner, policy);
+            publish(wrapper, byOwner);
+        }
+    }
+
+    static void deactivate(LoggingSupported wrapper, Object owner) {
+        synchronized (POLICIES) {
+            Map<Object, SuppressionPolicy> byOwner = POLICIES.get(wrapper);
+            if (byOwner == null || byOwner.remove(owner) == null) {
+                return;
+            }
+            if (byOwner.isEmpty()) {
+                POLICIES.remove(wrapper);
+                wrapper.setSuppressionPolicy(SuppressionPolicy.EMPTY);
+                return;
+            }
+            publish(wrapper, byOwner);
+        }
+    }
+
+    private static void publish(LoggingSupported wrapper, Map<Object, SuppressionPolicy> byOwner) {
+        SuppressionPolicy result = null;
+        for (SuppressionPolicy policy : byOwner.values()) {
+            result = result == null ? policy : result.orElse(policy);
+        }
+        wrapper.setSuppressionPolicy(result);
+    }
+}
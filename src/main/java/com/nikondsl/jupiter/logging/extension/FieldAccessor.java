@@ -0,0 +1,84 @@
+package com.nikondsl.jupiter.logging.extension;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Reads and writes logger fields through MethodHandle getters and setters created once per field.
+ * Final fields (including 'static final' ones) cannot be written by supported means since JDK 12,
+ * so no accessor is created for them.
+ */
+final class FieldAccessor {
+    private static final ClassValue<ConcurrentMap<String, FieldAccessor>> ACCESSORS =
+            new ClassValue<ConcurrentMap<String, FieldAccessor>>() {
+                @Override
+                protected ConcurrentMap<String, FieldAccessor> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    private final MethodHandle getter;
+    private final MethodHandle setter;
+
+    private FieldAccessor(Field field) throws IllegalAccessException {
+        if (Modifier.isFinal(field.getModifiers())) {
+            throw new IllegalAccessException("Could not set wrapper for final field '" + field.getName() +
+                    "' in class '" + field.getDeclaringClass().getName() + "'. Please remove 'final' modifier");
+        }
+        field.setAccessible(true);
+        MethodHandle fieldGetter = MethodHandles.lookup().unreflectGetter(field);
+        MethodHandle fieldSetter = MethodHandles.lookup().unreflectSetter(field);
+        if (Modifier.isStatic(field.getModifiers())) {
+            // the same (Object, Object) shape for static fields, the target is ignored
+            fieldGetter = MethodHandles.dropArguments(fieldGetter, 0, Object.class);
+            fieldSetter = MethodHandles.dropArguments(fieldSetter, 0, Object.class);
+        }
+        this.getter = fieldGetter.asType(fieldGetter.type().changeParameterType(0, Object.class)
+                .changeReturnType(Object.class));
+        this.setter = fieldSetter.asType(fieldSetter.type().changeParameterType(0, Object.class)
+                .changeParameterType(1, Object.class));
+    }
+
+    static FieldAccessor of(Field field) throws IllegalAccessException {
+        ConcurrentMap<String, FieldAccessor> accessors = ACCESSORS.get(field.getDeclaringClass());
+        FieldAccessor accessor = accessors.get(field.getName());
+        if (accessor == null) {
+            accessor = new FieldAccessor(field);
+            FieldAccessor old = accessors.putIfAbsent(field.getName(), accessor);
+            if (old != null) {
+                accessor = old;
+            }
+        }
+        return accessor;
+    }
+
+    /**
+     * @param target instance holding the field, ignored for static fields
+     */
+    Object get(Object target) {
+        try {
+            return getter.invokeExact(target);
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * @param target instance holding the field, ignored for static fields
+     */
+    void set(Object target, Object value) {
+        try {
+            setter.invokeExact(target, value);
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.nikondsl.jupiter.logging.extension;
+
+import com.nikondsl.jupiter.logging.adapters.LoggerAdapterRepository;
+import com.nikondsl.jupiter.logging.adapters.LoggerAdaptorFactory;
+import com.nikondsl.jupiter.logging.annotations.HideByExceptionClass;
+import com.nikondsl.jupiter.logging.annotations.HideByExceptionClassAndMessage;
+import com.nikondsl.jupiter.logging.annotations.HideByExceptionMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fields LoggingExtension looks at, found once per class for the whole JVM and made accessible once,
+ * so test classes sharing collaborators do not repeat the reflection.
+ */
+final class FieldCache {
+    private static final Logger LOG = LoggerFactory.getLogger(FieldCache.class);
+    private static final Field[] NO_FIELDS = new Field[0];
+
+    private static final ClassValue<Field[]> DECLARED_FIELDS = new ClassValue<Field[]>() {
+        @Override
+        protected Field[] computeValue(Class<?> type) {
+            Field[] fields = type.getDeclaredFields();
+            for (Field field : fields) {
+                field.setAccessible(true);
+            }
+            return fields;
+        }
+    };
+
+    private static final ClassValue<Field[]> ANNOTATED_FIELDS = new ClassValue<Field[]>() {
+        @Override
+        protected Field[] computeValue(Class<?> type) {
+            List<Field> result = new ArrayList<>();
+            for (Field field : DECLARED_FIELDS.get(type)) {
+                if (field.isAnnotationPresent(HideByExceptionClass.class) ||
+                    field.isAnnotationPresent(HideByExceptionMessage.class) ||
+                    field.isAnnotationPresent(HideByExceptionClassAndMessage.class)) {
+                    result.add(field);
+                }
+            }
+            return result.isEmpty() ? NO_FIELDS : result.toArray(NO_FIELDS);
+        }
+    };
+
+    private static final ClassValue<LoggerFields> LOGGER_FIELDS = new ClassValue<LoggerFields>() {
+        @Override
+        protected LoggerFields computeValue(Class<?> type) {
+            return new LoggerFields(type);
+        }
+    };
+
+    /**
+     * Fields of supported logger types, for the adaptor factories registered at the time of the lookup.
+     */
+    private static class LoggerFields {
+        private final List<LoggerAdaptorFactory> factories = LoggerAdapterRepository.getRegisteredFactories();
+        private final Field[] fields;
+        private final Field[] staticFields;
+
+        LoggerFields(Class<?> type) {
+            List<Field> found = new ArrayList<>();
+            List<Field> foundStatic = new ArrayList<>();
+            for (Field field : type.getDeclaredFields()) {
+                Class<?> fieldType = field.getType();
+                if (fieldType.isPrimitive() ||
+                    fieldType.isArray() ||
+                    fieldType.isEnum() ||
+                    !LoggerAdapterRepository.isLoggerSupported(fieldType)) {
+                    continue;
+                }
+                if (Modifier.isFinal(field.getModifiers())) {
+                    LOG.warn("Logger field '" + type.getName() + "." + field.getName() + "' is final and " +
+                            "is not wrapped, remove 'final' modifier or use @UseLog4j2Filter, @UseLog4jFilter or " +
+                            "@UseSlf4jLoggerFactory");
+                    continue;
+                }
+                field.setAccessible(true);
+                found.add(field);
+                if (Modifier.isStatic(field.getModifiers())) {
+                    foundStatic.add(field);
+                }
+            }
+            this.fields = found.isEmpty() ? NO_FIELDS : found.toArray(NO_FIELDS);
+            this.staticFields = foundStatic.isEmpty() ? NO_FIELDS : foundStatic.toArray(NO_FIELDS);
+        }
+    }
+
+    private FieldCache() {
+    }
+
+    /**
+     * @return all declared fields of a test class, accessible
+     */
+    static Field[] getDeclaredFields(Class<?> type) {
+        return DECLARED_FIELDS.get(type);
+    }
+
+    /**
+     * @return declared fields of a test class with one of @HideBy... annotations, accessible
+     */
+    static Field[] getAnnotatedFields(Class<?> type) {
+        return ANNOTATED_FIELDS.get(type);
+    }
+
+    /**
+     * @param onlyStatic true when there is no instance, just a class to look at
+     * @return declared fields of supported logger types, accessible
+     */
+    static Field[] getLoggerFields(Class<?> type, boolean onlyStatic) {
+        LoggerFields loggerFields = LOGGER_FIELDS.get(type);
+        if (loggerFields.factories != LoggerAdapterRepository.getRegisteredFactories()) {
+            // registered factories have changed since, the list is copy-on-write so identity is enough
+            LOGGER_FIELDS.remove(type);
+            loggerFields = LOGGER_FIELDS.get(type);
+        }
+        return onlyStatic ? loggerFields.staticFields : loggerFields.fields;
+    }
+}
@@ -8,7 +8,20 @@ import com.nikondsl.jupiter.logging.annotations.ClassesToWrapLoggers;
 import com.nikondsl.jupiter.logging.annotations.HideByExceptionClass;
 import com.nikondsl.jupiter.logging.annotations.HideByExceptionClassAndMessage;
 import com.nikondsl.jupiter.logging.annotations.HideByExceptionMessage;
+import com.nikondsl.jupiter.logging.annotations.MatchType;
+import com.nikondsl.jupiter.logging.annotations.SuspendLogging;
+import com.nikondsl.jupiter.logging.annotations.UseLog4j2Filter;
+import com.nikondsl.jupiter.logging.annotations.UseLog4jFilter;
+import com.nikondsl.jupiter.logging.annotations.UseSlf4jLoggerFactory;
+import com.nikondsl.jupiter.logging.filter.Log4j2SuppressionFilter;
+import com.nikondsl.jupiter.logging.filter.Log4jSuppressionFilter;
+import com.nikondsl.jupiter.logging.filter.Slf4jLoggerFactoryFilter;
+import com.nikondsl.jupiter.logging.filter.Slf4jSuppressingLoggerFactory;
+import com.nikondsl.jupiter.logging.filter.SuppressionFilter;
+import com.nikondsl.jupiter.logging.policy.ReplacementStyle;
+import com.nikondsl.jupiter.logging.policy.SuppressionPolicy;
 import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
 import org.junit.jupiter.api.extension.BeforeAllCallback;
 import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
 import org.junit.jupiter.api.extension.TestInstancePreDestroyCallback;
@@ -17,64 +30,219 @@ import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.api.extension.TestInstancePostProcessor;
 import org.slf4j.LoggerFactory;
 
+import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
-import java.util.ArrayList;
+import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.CopyOnWriteArrayList;
 
-public class LoggingExtension implements TestInstancePostProcessor, AfterAllCallback {
+public class LoggingExtension implements BeforeAllCallback, TestInstancePostProcessor, BeforeTestExecutionCallback,
+        AfterTestExecutionCallback, AfterAllCallback {
     private static final Logger LOG = LoggerFactory.getLogger(LoggingExtension.class);
-    private static final ConcurrentMap<Object, List<Field>> toRevert = new ConcurrentHashMap<>();
-    private static AtomicBoolean suspendLogging = new AtomicBoolean();
-    private static AtomicBoolean initialized = new AtomicBoolean();
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(LoggingExtension.class);
+    // defaults for test classes set up later, every class reads them once into its TestClassState
+    private static volatile boolean suspendLogging = false;
+    private static volatile int decisionCacheSize = 0;
+    private static volatile int causeDepth = 0;
+    private static volatile ReplacementStyle replacementStyle = ReplacementStyle.FULL;
+    private static volatile String replacementToken = SuppressionPolicy.DEFAULT_REPLACEMENT_TOKEN;
+    private static volatile boolean substituteThrowables = false;
+    private static volatile boolean stickyWrappers = false;
+
+    /**
+     * Settings and everything the extension changed for one test class. It lives in the JUnit store of that class,
+     * so test classes running in parallel do not see each other's rules or settings.
+     */
+    static class TestClassState {
+        // object holding the logger (or class for static ones) -> field -> original logger
+        private final ConcurrentMap<Object, Map<Field, Object>> toRevert = new ConcurrentHashMap<>();
+        private final List<SuppressionPolicy> cachingPolicies = new CopyOnWriteArrayList<>();
+        // compiled once per test class, annotated field or test method, so every test instance shares
+        // the policy (and its decision cache)
+        private final ConcurrentMap<AnnotatedElement, ExtensionParams> params = new ConcurrentHashMap<>();
+        // installed filters -> policy of the test class they were installed with
+        private final Map<SuppressionFilter, SuppressionPolicy> filters =
+                Collections.synchronizedMap(new IdentityHashMap<>());
+        // wrappers which got a policy of this class -> that policy, it is withdrawn after the class
+        private final Map<LoggingSupported, SuppressionPolicy> activated =
+                Collections.synchronizedMap(new IdentityHashMap<>());
+        // compiled once per test method, empty for methods without rules
+        private final ConcurrentMap<Method, Optional<MethodRules>> methodRules = new ConcurrentHashMap<>();
+        private final boolean suspended;
+        private final int decisionCacheSize = LoggingExtension.decisionCacheSize;
+        private final int causeDepth = LoggingExtension.causeDepth;
+        private final ReplacementStyle replacementStyle = LoggingExtension.replacementStyle;
+        private final String replacementToken = LoggingExtension.replacementToken;
+        private final boolean substituteThrowables = LoggingExtension.substituteThrowables;
+        private final boolean stickyWrappers = LoggingExtension.stickyWrappers;
+
+        TestClassState(boolean suspended) {
+            this.suspended = suspended;
+        }
+
+        private void addToRevert(Object toRevertObject, Field toRevertField, Object original) {
+            Map<Field, Object> newFields = new ConcurrentHashMap<>();
+            Map<Field, Object> oldFields = toRevert.putIfAbsent(toRevertObject, newFields);
+            if (oldFields == null) {
+                oldFields = newFields;
+            }
+            oldFields.putIfAbsent(toRevertField, original);
+        }
+    }
+
+    /**
+     * Policy of a test method, combined with each policy of the test class once,
+     * so running the method again only switches policies of the wrappers.
+     */
+    static class MethodRules {
+        private final SuppressionPolicy policy;
+        // class policy -> method policy or else class policy
+        private final ConcurrentMap<SuppressionPolicy, SuppressionPolicy> combined = new ConcurrentHashMap<>();
+
+        MethodRules(SuppressionPolicy policy) {
+            this.policy = policy;
+        }
+
+        SuppressionPolicy combineWith(SuppressionPolicy classPolicy) {
+            return combined.computeIfAbsent(classPolicy, policy::orElse);
+        }
+    }
 
     static class ExtensionParams {
         private final Class<? extends Throwable>[] hideByClass;
         private final String[] hideByMessage;
+        private final MatchType hideByMessageType;
         private final ClassAndMessage[] hideByBoth;
+        private final TestClassState state;
+        private final SuppressionPolicy policy;
 
         public ExtensionParams(Class<? extends Throwable>[] hideByClass,
                                String[] hideByMessage,
-                               ClassAndMessage[] hideByBoth) {
+                               MatchType hideByMessageType,
+                               ClassAndMessage[] hideByBoth,
+                               TestClassState state) {
 
             this.hideByClass = hideByClass;
             this.hideByMessage = hideByMessage;
+            this.hideByMessageType = hideByMessageType;
             this.hideByBoth = hideByBoth;
+            this.state = state;
+            this.policy = SuppressionPolicy.builder()
+                    .hideClasses(hideByClass)
+                    .hideMessages(hideByMessage, hideByMessageType)
+                    .hideClassAndMessages(hideByBoth)
+                    .decisionCacheSize(state.decisionCacheSize)
+                    .causeDepth(state.causeDepth)
+                    .replacementStyle(state.replacementStyle)
+                    .replacementToken(state.replacementToken)
+                    .substituteThrowables(state.substituteThrowables)
+                    .suspend(state.suspended)
+                    .build();
+            if (policy.getDecisionCache() != null) {
+                state.cachingPolicies.add(policy);
+            }
         }
     }
 
     @Override
-    public void postProcessTestInstance(Object testInstance, ExtensionContext extensionContext) throws Exception {
-        if (initialized.get()) {
+    public void beforeAll(ExtensionContext extensionContext) throws Exception {
+        Class clazz = extensionContext.getRequiredTestClass();
+        TestClassState state = getState(extensionContext);
+        if (clazz.isAnnotationPresent(UseLog4j2Filter.class)) {
+            SuppressionPolicy policy = createParams(clazz, state).policy;
+            installFilter(clazz, state, new Log4j2SuppressionFilter(policy), policy);
+        }
+        if (clazz.isAnnotationPresent(UseLog4jFilter.class)) {
+            SuppressionPolicy policy = createParams(clazz, state).policy;
+            installFilter(clazz, state, new Log4jSuppressionFilter(policy), policy);
+        }
+        if (clazz.isAnnotationPresent(UseSlf4jLoggerFactory.class)) {
+            SuppressionPolicy policy = createParams(clazz, state).policy;
+            installFilter(clazz, state, new Slf4jLoggerFactoryFilter(policy), policy);
+        }
+    }
+
+    /**
+     * Rules of the test method are added to rules of every logger wrapped and every filter installed for the test
+     * class, the policy of the method is compiled on its first run.
+     */
+    @Override
+    public void beforeTestExecution(ExtensionContext extensionContext) throws Exception {
+        TestClassState state = getState(extensionContext);
+        Optional<MethodRules> methodRules = state.methodRules.computeIfAbsent(
+                extensionContext.getRequiredTestMethod(),
+                method -> isAnnotated(method) ?
+                        Optional.of(new MethodRules(createParams(method, state).policy)) :
+                        Optional.empty());
+        if (!methodRules.isPresent()) {
             return;
         }
-        initialized.set(true);
-        Class clazz = testInstance.getClass();
-        toRevert.clear();
-        for (Field field : clazz.getDeclaredFields()) {
-            if (!suspendLogging.get() &&
-                !field.isAnnotationPresent(HideByExceptionClass.class) &&
-                !field.isAnnotationPresent(HideByExceptionMessage.class) &&
-                !field.isAnnotationPresent(HideByExceptionClassAndMessage.class)) {
-                continue;
+        if (state.activated.isEmpty() && state.filters.isEmpty()) {
+            throw new IllegalStateException("Rules of test method " +
+                    extensionContext.getRequiredTestMethod().getName() + " apply to no logger: no logger is " +
+                    "wrapped and no filter is installed for class " +
+                    extensionContext.getRequiredTestClass().getCanonicalName());
+        }
+        synchronized (state.activated) {
+            for (Map.Entry<LoggingSupported, SuppressionPolicy> entry : state.activated.entrySet()) {
+                ActivePolicies.activate(entry.getKey(), state, methodRules.get().combineWith(entry.getValue()));
+            }
+        }
+        synchronized (state.filters) {
+            for (Map.Entry<SuppressionFilter, SuppressionPolicy> entry : state.filters.entrySet()) {
+                entry.getKey().setSuppressionPolicy(methodRules.get().combineWith(entry.getValue()));
             }
+        }
+    }
 
-            Class<? extends Throwable>[] classesToHide = getHideByExceptionClassValue(field, null);
-            String[] messagesToHide = getHideByMessageValue(field, null);
-            ClassAndMessage[] classAndMessageToHide = getHideByMessageAndClassValue(field, null);
-            ExtensionParams params = new ExtensionParams(classesToHide, messagesToHide, classAndMessageToHide);
+    @Override
+    public void afterTestExecution(ExtensionContext extensionContext) throws Exception {
+        TestClassState state = getState(extensionContext);
+        Optional<MethodRules> methodRules = state.methodRules.get(extensionContext.getRequiredTestMethod());
+        if (methodRules == null || !methodRules.isPresent()) {
+            return;
+        }
+        synchronized (state.activated) {
+            for (Map.Entry<LoggingSupported, SuppressionPolicy> entry : state.activated.entrySet()) {
+                ActivePolicies.activate(entry.getKey(), state, entry.getValue());
+            }
+        }
+        synchronized (state.filters) {
+            for (Map.Entry<SuppressionFilter, SuppressionPolicy> entry : state.filters.entrySet()) {
+                entry.getKey().setSuppressionPolicy(entry.getValue());
+            }
+        }
+    }
+
+    private void installFilter(Class clazz, TestClassState state, SuppressionFilter filter, SuppressionPolicy policy) {
+        if (!filter.install()) {
+            LOG.warn("Filter " + filter.getClass().getSimpleName() + " is ignored for class: " +
+                    clazz.getCanonicalName() + ", the logging framework is not configured");
+            return;
+        }
+        LOG.debug("Filter " + filter.getClass().getSimpleName() + " is installed for class: " + clazz.getCanonicalName());
+        state.filters.put(filter, policy);
+    }
+
+    @Override
+    public void postProcessTestInstance(Object testInstance, ExtensionContext extensionContext) throws Exception {
+        TestClassState state = getState(extensionContext);
+        Class clazz = testInstance.getClass();
+        Field[] fields = state.suspended ? FieldCache.getDeclaredFields(clazz) : FieldCache.getAnnotatedFields(clazz);
+        for (Field field : fields) {
+            ExtensionParams params = createParams(field, state);
 
             String anno = getAnnoUsed(null, null, null, params);
             LOG.debug("Field with annotation @" + anno + " is found in class: " + clazz.getCanonicalName());
 
             // do only for annotated fields in test class
-            field.setAccessible(true);
             Object toInjectNewLogger = field.get(testInstance);
             // look for 'org.slf4j.Logger' there
             if (toInjectNewLogger == null) {
@@ -88,10 +256,8 @@ public class LoggingExtension implements TestInstancePostProcessor, AfterAllCall
         }
         if (clazz.isAnnotationPresent(ClassesToWrapLoggers.class)) {
             ClassesToWrapLoggers toReplaceLoggers = (ClassesToWrapLoggers) clazz.getAnnotation(ClassesToWrapLoggers.class);
+            ExtensionParams params = createParams(clazz, state);
             for (Class toReplaceLogger : toReplaceLoggers.value()) {
-                ExtensionParams params = new ExtensionParams(getHideByExceptionClassValue(null, clazz),
-                        getHideByMessageValue(null, clazz),
-                        getHideByMessageAndClassValue(null, clazz));
                 if (!lookForAndReplaceLogger(params, toReplaceLogger)) {
                     LOG.warn("Logger field is not found in class: " + toReplaceLogger.getClass().getCanonicalName());
                 }
@@ -99,6 +265,35 @@ public class LoggingExtension implements TestInstancePostProcessor, AfterAllCall
         }
     }
 
+    /**
+     * @param element test class, test method or annotated field
+     */
+    private static boolean isAnnotated(AnnotatedElement element) {
+        return element.isAnnotationPresent(HideByExceptionClass.class) ||
+               element.isAnnotationPresent(HideByExceptionMessage.class) ||
+               element.isAnnotationPresent(HideByExceptionClassAndMessage.class);
+    }
+
+    ExtensionParams createParams(AnnotatedElement element, TestClassState state) {
+        return state.params.computeIfAbsent(element, key -> new ExtensionParams(getHideByExceptionClassValue(key),
+                getHideByMessageValue(key),
+                getHideByMessageType(key),
+                getHideByMessageAndClassValue(key),
+                state));
+    }
+
+    private static TestClassState getState(ExtensionContext extensionContext) {
+        ExtensionContext classContext = extensionContext;
+        while (classContext.getTestMethod().isPresent() && classContext.getParent().isPresent()) {
+            classContext = classContext.getParent().get();
+        }
+        // keyed by test class, so @Nested classes do not pick up the state of the enclosing class
+        return classContext.getStore(NAMESPACE).getOrComputeIfAbsent(
+                classContext.getRequiredTestClass(),
+                key -> new TestClassState(suspendLogging || ((Class<?>) key).isAnnotationPresent(SuspendLogging.class)),
+                TestClassState.class);
+    }
+
     private String getAnnoUsed(Class[] classesToHide1,
                                String[] messagesToHide1,
                                ClassAndMessage[] classAndMessageToHide1,
@@ -116,32 +311,30 @@ public class LoggingExtension implements TestInstancePostProcessor, AfterAllCall
         return anno;
     }
 
-    private Class<? extends Throwable>[] getHideByExceptionClassValue(Field field, Class clazz) {
-        if (field != null && field.isAnnotationPresent(HideByExceptionClass.class)) {
-            return field.getAnnotation(HideByExceptionClass.class).value();
-        }
-        if (clazz != null && clazz.isAnnotationPresent(HideByExceptionClass.class)) {
-            return ((HideByExceptionClass) clazz.getAnnotation(HideByExceptionClass.class)).value();
+    private Class<? extends Throwable>[] getHideByExceptionClassValue(AnnotatedElement element) {
+        if (element.isAnnotationPresent(HideByExceptionClass.class)) {
+            return element.getAnnotation(HideByExceptionClass.class).value();
         }
         return null;
     }
 
-    private String[] getHideByMessageValue(Field field, Class clazz) {
-        if (field != null && field.isAnnotationPresent(HideByExceptionMessage.class)) {
-            return field.getAnnotation(HideByExceptionMessage.class).value();
-        }
-        if (clazz != null && clazz.isAnnotationPresent(HideByExceptionMessage.class)) {
-            return ((HideByExceptionMessage) clazz.getAnnotation(HideByExceptionMessage.class)).value();
+    private String[] getHideByMessageValue(AnnotatedElement element) {
+        if (element.isAnnotationPresent(HideByExceptionMessage.class)) {
+            return element.getAnnotation(HideByExceptionMessage.class).value();
         }
         return null;
     }
 
-    private ClassAndMessage[] getHideByMessageAndClassValue(Field field, Class clazz) {
-        if (field != null && field.isAnnotationPresent(HideByExceptionClassAndMessage.class)) {
-            return field.getAnnotation(HideByExceptionClassAndMessage.class).value();
+    private MatchType getHideByMessageType(AnnotatedElement element) {
+        if (element.isAnnotationPresent(HideByExceptionMessage.class)) {
+            return element.getAnnotation(HideByExceptionMessage.class).type();
         }
-        if (clazz != null && clazz.isAnnotationPresent(HideByExceptionClassAndMessage.class)) {
-            return ((HideByExceptionClassAndMessage) clazz.getAnnotation(HideByExceptionClassAndMessage.class)).value();
+        return MatchType.CONTAINS;
+    }
+
+    private ClassAndMessage[] getHideByMessageAndClassValue(AnnotatedElement element) {
+        if (element.isAnnotationPresent(HideByExceptionClassAndMessage.class)) {
+            return element.getAnnotation(HideByExceptionClassAndMessage.class).value();
         }
         return null;
     }
@@ -150,42 +343,21 @@ public class LoggingExtension implements TestInstancePostProcessor, AfterAllCall
                                     Object toInjectNewLogger) throws ReflectiveOperationException {
         boolean newLoggerSet = false;
         LOG.trace("Checking class: " + toInjectNewLogger + " | "+ toInjectNewLogger.hashCode());
-        Field[] fields = null;
+        Field[] fields;
         if (toInjectNewLogger instanceof Class) {
-            fields = ((Class) toInjectNewLogger).getDeclaredFields();
+            fields = FieldCache.getLoggerFields((Class) toInjectNewLogger, true);
         } else {
-            fields = toInjectNewLogger.getClass().getDeclaredFields();
+            fields = FieldCache.getLoggerFields(toInjectNewLogger.getClass(), false);
         }
-        boolean revertAccessibleFlag = false;
         for (Field lookForLogger : fields) {
-            LOG.trace("Checking field: " + lookForLogger.getType().getCanonicalName());
-            if (!lookForLogger.isAccessible()) {
-                lookForLogger.setAccessible(true);
-                revertAccessibleFlag = true;
-            }
-            if (lookForLogger.getType().isPrimitive() ||
-                lookForLogger.getType().isArray() ||
-                lookForLogger.getType().isEnum()) {
-                if (revertAccessibleFlag) {
-                    lookForLogger.setAccessible(false);
-                }
-                LOG.trace("Checked field: " + lookForLogger.getName() + ". primitive");
-                continue;
-            }
-            if (!LoggerAdapterRepository.isLoggerSupported(lookForLogger.getType().getCanonicalName())) {
-                LOG.trace("Checked field: " + lookForLogger.getName() + ". is not supported");
-                if (revertAccessibleFlag) {
-                    lookForLogger.setAccessible(false);
-                }
-                continue;
-            }
             LOG.trace("Found supported field: " + lookForLogger.getName() +" => "+ lookForLogger.getType());
             Object possibleLogger = lookForLogger.get(toInjectNewLogger);
-            LOG.trace("Wrapping logger " + possibleLogger.toString());
-            newLoggerSet |= wrapLogger(params, toInjectNewLogger, lookForLogger, possibleLogger);
-            if (revertAccessibleFlag) {
-                lookForLogger.setAccessible(false);
+            if (possibleLogger == null) {
+                LOG.trace("Logger '" + lookForLogger.getName() + "' is null");
+                continue;
             }
+            LOG.trace("Wrapping logger " + possibleLogger);
+            newLoggerSet |= wrapLogger(params, toInjectNewLogger, lookForLogger, possibleLogger);
         }
         return newLoggerSet;
     }
@@ -194,13 +366,26 @@ public class LoggingExtension implements TestInstancePostProcessor, AfterAllCall
                        Object containerForLogger,
                        Field loggerField,
                        Object loggerObject) throws ReflectiveOperationException {
+        if (loggerObject instanceof LoggingSupported && !Slf4jSuppressingLoggerFactory.isCreatedByFactory(loggerObject)) {
+            // static loggers are shared by all instances of the test class, sticky wrappers by all test classes
+            LOG.debug("Logger '" + loggerField.getName() + "' is already wrapped, its policy is replaced");
+            activate(params, (LoggingSupported) loggerObject);
+            return true;
+        }
         LoggingSupported loggerAdaptor = createLoggerAdaptor(loggerObject);
         if (loggerAdaptor == null) {
             return false;
         }
+        if (!loggerField.getType().isInstance(loggerAdaptor)) {
+            // e.g. a field of a concrete logger class, the wrapper implements the logging API only
+            LOG.debug("Logger '" + loggerField.getName() + "' of type " + loggerField.getType().getCanonicalName() +
+                    " cannot hold " + loggerAdaptor.getClass().getCanonicalName() + ", it is not wrapped");
+            return false;
+        }
         setUpLogger(containerForLogger.getClass().getCanonicalName(),
                 loggerField,
                 containerForLogger,
+                loggerObject,
                 loggerAdaptor,
                 params);
         return true;
@@ -209,34 +394,23 @@ public class LoggingExtension implements TestInstancePostProcessor, AfterAllCall
     private void setUpLogger(String className,
                              Field field,
                              Object toInjectNewLogger,
+                             Object original,
                              LoggingSupported loggerAdapter,
                              ExtensionParams params) throws ReflectiveOperationException {
         LOG.debug("Setting up logger into '" + className +
                 "." + field.getName() + "' with " + parameters(null, null, null, params));
-        loggerAdapter.setSuspendLogging(suspendLogging);
-        loggerAdapter.setExceptionClassesToHide(params.hideByClass);
-        loggerAdapter.setExceptionMessagesToHide(params.hideByMessage);
-        loggerAdapter.setExceptionClassAndMessageToHide(params.hideByBoth);
-        if (java.lang.reflect.Modifier.isStatic(field.getModifiers())) {
-            LOG.debug("Field '" + field.getName() + "' static in class: " +
-                    toInjectNewLogger.getClass().getCanonicalName());
-            trySetStaticField(className, field, toInjectNewLogger, loggerAdapter);
-        } else {
-            //set dynamic field
-            LOG.debug("Logger '" + field.getName() + "' in class: " +
-                    toInjectNewLogger.getClass().getCanonicalName() + " is wrapped");
-            field.set(toInjectNewLogger, loggerAdapter);
-            addToRevert(toInjectNewLogger, field);
+        activate(params, loggerAdapter);
+        FieldAccessor.of(field).set(toInjectNewLogger, loggerAdapter);
+        LOG.debug("Logger '" + field.getName() + "' in class: " +
+                field.getDeclaringClass().getCanonicalName() + " is wrapped");
+        if (!params.state.stickyWrappers) {
+            params.state.addToRevert(toInjectNewLogger, field, original);
         }
     }
 
-    private static void addToRevert(Object toRevertObject, Field toRevertField) {
-        List<Field> newFields = Collections.synchronizedList(new ArrayList<>());
-        List<Field> oldFields = toRevert.putIfAbsent(toRevertObject, newFields);
-        if (oldFields == null) {
-            oldFields = newFields;
-        }
-        oldFields.add(toRevertField);
+    private static void activate(ExtensionParams params, LoggingSupported loggerAdapter) {
+        ActivePolicies.activate(loggerAdapter, params.state, params.policy);
+        params.state.activated.put(loggerAdapter, params.policy);
     }
 
     private String parameters(Class[] classesToHide1,
@@ -246,7 +420,12 @@ public class LoggingExtension implements TestInstancePostProcessor, AfterAllCall
         StringBuilder result = new StringBuilder();
 
         if (params.hideByMessage != null) {
-            result.append("message contains any of ").append(Arrays.asList(params.hideByMessage));
+            if (params.hideByMessageType == MatchType.CONTAINS) {
+                result.append("message contains any of ");
+            } else {
+                result.append("message matches any ").append(params.hideByMessageType).append(" of ");
+            }
+            result.append(Arrays.asList(params.hideByMessage));
         }
         if (params.hideByClass != null) {
             result.append("class is one of ").append(Arrays.asList(params.hideByClass));
@@ -266,57 +445,104 @@ public class LoggingExtension implements TestInstancePostProcessor, AfterAllCall
         return LoggerAdapterRepository.createAdaptor(logger);
     }
 
-    static void trySetStaticField(String className,
-                                  Field field,
-                                  Object toInjectNewLogger,
-                                  LoggingSupported newValue)
-            throws ReflectiveOperationException {
-        field.setAccessible(true);
-
-        Field modifiersField = Field.class.getDeclaredField("modifiers");
-        if (java.lang.reflect.Modifier.isFinal(modifiersField.getModifiers())) {
-            modifiersField.setAccessible(true);
-            modifiersField.setInt(field, field.getModifiers() & ~Modifier.FINAL);
-            try {
-                field.set(null, newValue);
-                addToRevert(toInjectNewLogger, field);
-            } catch (IllegalAccessException ex) {
-                throw new RuntimeException("Could not set wrapper for field. Please remove 'final' modifier from field '" +
-                        field.getName() + "' in class '" + className + "'", ex);
-            }
-            return;
-        }
-        LOG.debug("New Logger is set up for field '" + field.getName() + "' in class: " +
-                toInjectNewLogger.getClass().getCanonicalName());
-        field.set(toInjectNewLogger, newValue);
-        addToRevert(toInjectNewLogger, field);
-    }
-
     @Override
     public void afterAll(ExtensionContext extensionContext) throws Exception {
-        for(Map.Entry<Object, List<Field>> entry : toRevert.entrySet()) {
-            boolean revertFlag = false;
-            for (Field field : entry.getValue()) {
-                if (!field.isAccessible()) {
-                    field.setAccessible(true);
-                    revertFlag = true;
-                }
-                if (field.get(entry.getKey()) instanceof LoggingSupported) {
-                    LoggingSupported logger = (LoggingSupported) field.get(entry.getKey());
-                    logger.unwrap(field, entry.getKey());
+        revert(getState(extensionContext));
+    }
+
+    void revert(TestClassState state) throws ReflectiveOperationException {
+        for (Map.Entry<Object, Map<Field, Object>> entry : state.toRevert.entrySet()) {
+            for (Map.Entry<Field, Object> swap : entry.getValue().entrySet()) {
+                Field field = swap.getKey();
+                FieldAccessor accessor = FieldAccessor.of(field);
+                if (accessor.get(entry.getKey()) instanceof LoggingSupported) {
+                    accessor.set(entry.getKey(), swap.getValue());
                     LOG.debug("Old Logger is reverted for field '" + field.getName() +
-                            "' in class: " +
-                            entry.getKey().getClass().getCanonicalName());
-                }
-                if (revertFlag) {
-                    field.setAccessible(false);
+                            "' in class: " + field.getDeclaringClass().getCanonicalName());
                 }
             }
         }
-        toRevert.clear();
+        state.toRevert.clear();
+        synchronized (state.activated) {
+            for (LoggingSupported logger : state.activated.keySet()) {
+                ActivePolicies.deactivate(logger, state);
+            }
+            state.activated.clear();
+        }
+        state.methodRules.clear();
+        state.params.clear();
+        synchronized (state.filters) {
+            for (SuppressionFilter filter : state.filters.keySet()) {
+                filter.uninstall();
+            }
+            state.filters.clear();
+        }
+        for (SuppressionPolicy policy : state.cachingPolicies) {
+            LOG.info("Decision cache statistics for " + policy);
+        }
+        state.cachingPolicies.clear();
     }
 
+    /**
+     * Hides all exceptions logged by every test class set up after this call, until it is called with false.
+     * Settings are read once per test class, when it is set up, so call setters of this class before the suite
+     * runs. To suspend logging for one test class only, annotate it with @SuspendLogging.
+     */
     public static void setSuspendLogging(boolean suspendLogging) {
-        LoggingExtension.suspendLogging = new AtomicBoolean(suspendLogging);
+        LoggingExtension.suspendLogging = suspendLogging;
+    }
+
+    static boolean isSuspendLogging() {
+        return suspendLogging;
+    }
+
+    /**
+     * Enables a bounded (LRU) cache of decisions by exception class and message for test classes set up
+     * after this call. Hit and miss counts are logged after the test class. 0 (default) disables caching.
+     */
+    public static void setDecisionCacheSize(int decisionCacheSize) {
+        LoggingExtension.decisionCacheSize = Math.max(0, decisionCacheSize);
+    }
+
+    /**
+     * Makes test classes set up after this call check causes and suppressed exceptions of a logged exception
+     * up to given depth, so wrapped expected exceptions are hidden too. 0 (default) checks only the logged one.
+     */
+    public static void setCauseDepth(int causeDepth) {
+        LoggingExtension.causeDepth = Math.max(0, causeDepth);
+    }
+
+    /**
+     * Sets what test classes set up after this call log instead of a hidden exception. FULL (default) includes
+     * the message, CLASS_ONLY and TOKEN produce no garbage per hidden exception.
+     */
+    public static void setReplacementStyle(ReplacementStyle replacementStyle) {
+        LoggingExtension.replacementStyle = replacementStyle == null ? ReplacementStyle.FULL : replacementStyle;
+    }
+
+    /**
+     * Sets the text logged instead of every hidden exception for ReplacementStyle.TOKEN.
+     */
+    public static void setReplacementToken(String replacementToken) {
+        LoggingExtension.replacementToken = replacementToken == null ?
+                SuppressionPolicy.DEFAULT_REPLACEMENT_TOKEN : replacementToken;
+    }
+
+    /**
+     * Makes test classes set up after this call log a HiddenException (no stack trace, replacement text as message)
+     * instead of appending the replacement text to the message. Messages and parameters reach the logger untouched,
+     * which keeps Log4j2 garbage-free and async logging intact.
+     */
+    public static void setSubstituteThrowables(boolean substituteThrowables) {
+        LoggingExtension.substituteThrowables = substituteThrowables;
+    }
+
+    /**
+     * Makes loggers wrapped by test classes set up after this call stay wrapped for the rest of the JVM. Every test
+     * class then only publishes its policy to the wrappers (and withdraws it after the class), no field is written
+     * again and threads still logging never see a half reverted logger.
+     */
+    public static void setStickyWrappers(boolean stickyWrappers) {
+        LoggingExtension.stickyWrappers = stickyWrappers;
     }
 }
@@ -0,0 +1,134 @@
+package com.nikondsl.jupiter.logging.filter;
+
+import com.nikondsl.jupiter.logging.policy.SuppressionPolicy;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.Logger;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.filter.AbstractFilter;
+import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.spi.LoggerContext;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+
+/**
+ * Context-wide Log4j2 filter which denies events whose throwable is hidden by a policy. Loggers are not
+ * touched at all, the check runs once per event before it is created.
+ * A filter cannot change an event, so the whole event is dropped rather than logged with a replacement text.
+ * When the context is reconfigured, the filter moves to the new configuration.
+ */
+public class Log4j2SuppressionFilter extends AbstractFilter implements SuppressionFilter {
+    private volatile SuppressionPolicy policy;
+    private final PropertyChangeListener configurationListener = this::configurationChanged;
+    private org.apache.logging.log4j.core.LoggerContext context;
+    private Configuration configuration;
+
+    public Log4j2SuppressionFilter(SuppressionPolicy policy) {
+        super(Result.NEUTRAL, Result.NEUTRAL);
+        this.policy = policy;
+    }
+
+    /**
+     * Adds the filter to the configuration of the current Log4j2 context and follows configurations set to it later.
+     */
+    @Override
+    public synchronized boolean install() {
+        LoggerContext current = LogManager.getContext(false);
+        if (!(current instanceof org.apache.logging.log4j.core.LoggerContext)) {
+            return false;
+        }
+        context = (org.apache.logging.log4j.core.LoggerContext) current;
+        start();
+        context.addPropertyChangeListener(configurationListener);
+        moveTo(context.getConfiguration());
+        return true;
+    }
+
+    /**
+     * Removes the filter from the current configuration of the context it was installed to.
+     */
+    @Override
+    public synchronized void uninstall() {
+        if (context == null) {
+            return;
+        }
+        context.removePropertyChangeListener(configurationListener);
+        moveTo(null);
+        context = null;
+        stop();
+    }
+
+    private synchronized void configurationChanged(PropertyChangeEvent event) {
+        if (context != null && org.apache.logging.log4j.core.LoggerContext.PROPERTY_CONFIG.equals(event.getPropertyName())) {
+            moveTo(context.getConfiguration());
+        }
+    }
+
+    private void moveTo(Configuration next) {
+        if (configuration == next) {
+            return;
+        }
+        if (configuration != null) {
+            configuration.removeFilter(this);
+        }
+        if (next != null) {
+            next.addFilter(this);
+        }
+        configuration = next;
+    }
+
+    @Override
+    public void setSuppressionPolicy(SuppressionPolicy policy) {
+        this.policy = policy;
+    }
+
+    private Result decide(Throwable thrown) {
+        SuppressionPolicy policy = this.policy;
+        if (policy.isSuspended()) {
+            return Result.DENY;
+        }
+        if (thrown == null || !policy.isHidden(thrown)) {
+            return Result.NEUTRAL;
+        }
+        return Result.DENY;
+    }
+
+    private Result decide(Object[] params) {
+        if (policy.isSuspended()) {
+            return Result.DENY;
+        }
+        if (params == null || params.length == 0 || !(params[params.length - 1] instanceof Throwable)) {
+            return Result.NEUTRAL;
+        }
+        // as for Log4j2, a trailing throwable parameter is the throwable of the event
+        return decide((Throwable) params[params.length - 1]);
+    }
+
+    @Override
+    public Result filter(LogEvent event) {
+        return decide(event.getThrown());
+    }
+
+    @Override
+    public Result filter(Logger logger, Level level, Marker marker, Message msg, Throwable t) {
+        return decide(t);
+    }
+
+    @Override
+    public Result filter(Logger logger, Level level, Marker marker, Object msg, Throwable t) {
+        return decide(t);
+    }
+
+    @Override
+    public Result filter(Logger logger, Level level, Marker marker, String msg, Object... params) {
+        return decide(params);
+    }
+
+    @Override
+    public String toString() {
+        return "Log4j2SuppressionFilter{" + policy + "}";
+    }
+}
@@ -0,0 +1,146 @@
+package com.nikondsl.jupiter.logging.filter;
+
+import com.nikondsl.jupiter.logging.policy.SuppressionPolicy;
+import org.apache.log4j.Appender;
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+import org.apache.log4j.spi.Filter;
+import org.apache.log4j.spi.LoggingEvent;
+import org.apache.log4j.spi.ThrowableInformation;
+
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Log4j 1.x filter which denies events whose throwable is hidden by a policy. A filter is added to each appender
+ * of the root logger and of every logger existing at install time, so any logger of the hierarchy is covered
+ * (final fields included) and the check runs once per event in an appender chain.
+ * Log4j chains filters through the filters themselves, so each appender gets its own instance.
+ * A filter cannot change an event, so the whole event is dropped rather than logged with a replacement text.
+ * Appenders added after install are not filtered.
+ */
+public class Log4jSuppressionFilter implements SuppressionFilter {
+    private volatile SuppressionPolicy policy;
+    private final Map<Appender, AppenderFilter> installed = new LinkedHashMap<>();
+
+    public Log4jSuppressionFilter(SuppressionPolicy policy) {
+        this.policy = policy;
+    }
+
+    /**
+     * Adds a filter in front of the filters of every appender in use.
+     */
+    @Override
+    public synchronized boolean install() {
+        Set<Appender> found = new LinkedHashSet<>();
+        collectAppenders(LogManager.getRootLogger(), found);
+        Enumeration loggers = LogManager.getCurrentLoggers();
+        while (loggers.hasMoreElements()) {
+            collectAppenders((Logger) loggers.nextElement(), found);
+        }
+        for (Appender appender : found) {
+            if (installed.containsKey(appender)) {
+                continue;
+            }
+            AppenderFilter filter = new AppenderFilter(this);
+            List<Filter> filters = getFilters(appender);
+            filters.add(0, filter);
+            setFilters(appender, filters);
+            installed.put(appender, filter);
+        }
+        return !installed.isEmpty();
+    }
+
+    /**
+     * Removes the filters from the appenders they were added to, other filters are kept in their order.
+     */
+    @Override
+    public synchronized void uninstall() {
+        for (Map.Entry<Appender, AppenderFilter> entry : installed.entrySet()) {
+            List<Filter> filters = getFilters(entry.getKey());
+            filters.remove(entry.getValue());
+            setFilters(entry.getKey(), filters);
+            entry.getValue().setNext(null);
+        }
+        installed.clear();
+    }
+
+    /**
+     * Filters added to appenders read the policy on every event, so they follow the switch.
+     */
+    @Override
+    public void setSuppressionPolicy(SuppressionPolicy policy) {
+        this.policy = policy;
+    }
+
+    /**
+     * @return filter added to the appender, null if there is none
+     */
+    synchronized Filter getFilter(Appender appender) {
+        return installed.get(appender);
+    }
+
+    private static void collectAppenders(Logger logger, Set<Appender> found) {
+        Enumeration loggerAppenders = logger.getAllAppenders();
+        while (loggerAppenders.hasMoreElements()) {
+            found.add((Appender) loggerAppenders.nextElement());
+        }
+    }
+
+    private static List<Filter> getFilters(Appender appender) {
+        List<Filter> filters = new ArrayList<>();
+        for (Filter filter = appender.getFilter(); filter != null; filter = filter.getNext()) {
+            filters.add(filter);
+        }
+        return filters;
+    }
+
+    private static void setFilters(Appender appender, List<Filter> filters) {
+        // appenders keep filters as a linked chain which can only be cleared and built again,
+        // adding them in order links each filter to the one after it
+        appender.clearFilters();
+        for (Filter filter : filters) {
+            appender.addFilter(filter);
+        }
+        if (!filters.isEmpty()) {
+            filters.get(filters.size() - 1).setNext(null);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Log4jSuppressionFilter{" + policy + "}";
+    }
+
+    private static class AppenderFilter extends Filter {
+        private final Log4jSuppressionFilter owner;
+
+        private AppenderFilter(Log4jSuppressionFilter owner) {
+            this.owner = owner;
+        }
+
+        @Override
+        public int decide(LoggingEvent event) {
+            SuppressionPolicy policy = owner.policy;
+            if (policy.isSuspended()) {
+                return DENY;
+            }
+            ThrowableInformation information = event.getThrowableInformation();
+            if (information == null || information.getThrowable() == null ||
+                !policy.isHidden(information.getThrowable())) {
+                return NEUTRAL;
+            }
+            return DENY;
+        }
+
+        @Override
+        public String toString() {
+            return "Log4jSuppressionFilter.AppenderFilter{" + owner.policy + "}";
+        }
+    }
+}
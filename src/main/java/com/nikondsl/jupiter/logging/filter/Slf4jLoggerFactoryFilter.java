@@ -0,0 +1,43 @@
+package com.nikondsl.jupiter.logging.filter;
+
+import com.nikondsl.jupiter.logging.policy.SuppressionPolicy;
+
+/**
+ * Applies a policy to every logger returned by LoggerFactory.getLogger while a test class runs.
+ * Only one policy is active at a time, so test classes using it should not run in parallel.
+ */
+public class Slf4jLoggerFactoryFilter implements SuppressionFilter {
+    private volatile SuppressionPolicy policy;
+    private Slf4jSuppressingLoggerFactory factory;
+
+    public Slf4jLoggerFactoryFilter(SuppressionPolicy policy) {
+        this.policy = policy;
+    }
+
+    @Override
+    public synchronized boolean install() {
+        factory = Slf4jSuppressingLoggerFactory.interpose();
+        if (factory == null) {
+            return false;
+        }
+        factory.setSuppressionPolicy(policy);
+        return true;
+    }
+
+    @Override
+    public synchronized void uninstall() {
+        if (factory == null) {
+            return;
+        }
+        factory.setSuppressionPolicy(SuppressionPolicy.EMPTY);
+        factory = null;
+    }
+
+    @Override
+    public synchronized void setSuppressionPolicy(SuppressionPolicy policy) {
+        this.policy = policy;
+        if (factory != null) {
+            factory.setSuppressionPolicy(policy);
+        }
+    }
+}
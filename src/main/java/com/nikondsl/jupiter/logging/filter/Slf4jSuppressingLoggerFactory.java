@@ -0,0 +1,139 @@
+package com.nikondsl.jupiter.logging.filter;
+
+import com.nikondsl.jupiter.logging.adapters.LoggerAdapterRepository;
+import com.nikondsl.jupiter.logging.adapters.impl.Slf4JLoggerAdaptor;
+import com.nikondsl.jupiter.logging.policy.SuppressionPolicy;
+import org.slf4j.ILoggerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * SLF4J logger factory which is put in front of the factory of the SLF4J 1.7 binding, so
+ * LoggerFactory.getLogger returns loggers wrapped by Slf4JLoggerAdaptor. All of them follow one policy which
+ * is switched by the running test class. Once interposed, the factory stays until restore() is called
+ * (an empty policy logs everything as is); loggers obtained before that are not covered. It is kept between
+ * test classes on purpose, so loggers obtained in one class are covered in the next ones, and a shutdown hook
+ * restores it if restore() is not called.
+ */
+public class Slf4jSuppressingLoggerFactory implements ILoggerFactory {
+    private static final String BINDER_CLASS = "org.slf4j.impl.StaticLoggerBinder";
+    private static volatile Slf4jSuppressingLoggerFactory interposed;
+    private static final Thread RESTORE_HOOK = new Thread(Slf4jSuppressingLoggerFactory::restore,
+            "slf4j-logger-factory-restore");
+
+    private final ILoggerFactory target;
+    // the binding and its field the factory is put into, null until interposed
+    private Object binder;
+    private Field binderField;
+    private final ConcurrentMap<String, Slf4JLoggerAdaptor> loggers = new ConcurrentHashMap<>();
+    private volatile SuppressionPolicy policy = SuppressionPolicy.EMPTY;
+
+    Slf4jSuppressingLoggerFactory(ILoggerFactory target) {
+        this.target = target;
+    }
+
+    /**
+     * Puts the factory into the SLF4J binding (only once until restore() is called), restore() is registered as
+     * a shutdown hook.
+     *
+     * @return the factory or null if the binding does not keep its factory in a field
+     */
+    public static synchronized Slf4jSuppressingLoggerFactory interpose() {
+        if (interposed != null) {
+            return interposed;
+        }
+        try {
+            Class<?> binderClass = Class.forName(BINDER_CLASS);
+            Method getSingleton = binderClass.getMethod("getSingleton");
+            Object binder = getSingleton.invoke(null);
+            for (Field field : binderClass.getDeclaredFields()) {
+                if (!ILoggerFactory.class.equals(field.getType()) || Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                field.setAccessible(true);
+                ILoggerFactory target = (ILoggerFactory) field.get(binder);
+                Slf4jSuppressingLoggerFactory factory = new Slf4jSuppressingLoggerFactory(target);
+                field.set(binder, factory);
+                factory.binder = binder;
+                factory.binderField = field;
+                interposed = factory;
+                Runtime.getRuntime().addShutdownHook(RESTORE_HOOK);
+                return factory;
+            }
+        } catch (ReflectiveOperationException | LinkageError ex) {
+            LoggerFactory.getLogger(Slf4jSuppressingLoggerFactory.class)
+                    .warn("Cannot interpose SLF4J logger factory: " + ex);
+        }
+        return null;
+    }
+
+    /**
+     * Puts the factory of the SLF4J binding back. Loggers returned by the interposed factory keep
+     * working with an empty policy.
+     */
+    public static synchronized void restore() {
+        Slf4jSuppressingLoggerFactory factory = interposed;
+        if (factory == null) {
+            return;
+        }
+        try {
+            factory.binderField.set(factory.binder, factory.target);
+        } catch (IllegalAccessException ex) {
+            LoggerFactory.getLogger(Slf4jSuppressingLoggerFactory.class)
+                    .warn("Cannot restore SLF4J logger factory: " + ex);
+            return;
+        }
+        factory.setSuppressionPolicy(SuppressionPolicy.EMPTY);
+        interposed = null;
+        if (Thread.currentThread() != RESTORE_HOOK) {
+            Runtime.getRuntime().removeShutdownHook(RESTORE_HOOK);
+        }
+    }
+
+    @Override
+    public Logger getLogger(String name) {
+        Slf4JLoggerAdaptor logger = loggers.get(name);
+        if (logger != null) {
+            return logger;
+        }
+        // synchronized with setSuppressionPolicy, so a new logger cannot miss a policy being published
+        synchronized (this) {
+            return loggers.computeIfAbsent(name, key -> {
+                Slf4JLoggerAdaptor adaptor = new Slf4JLoggerAdaptor(target.getLogger(key),
+                        LoggerAdapterRepository.getInstance());
+                adaptor.setSuppressionPolicy(policy);
+                return adaptor;
+            });
+        }
+    }
+
+    /**
+     * Publishes the policy to every logger returned by the factory (and to loggers created later).
+     */
+    public synchronized void setSuppressionPolicy(SuppressionPolicy policy) {
+        this.policy = policy;
+        for (Slf4JLoggerAdaptor logger : loggers.values()) {
+            logger.setSuppressionPolicy(policy);
+        }
+    }
+
+    /**
+     * @return true if the logger was returned by the interposed factory (it can still be wrapped for a field)
+     */
+    public static boolean isCreatedByFactory(Object logger) {
+        Slf4jSuppressingLoggerFactory factory = interposed;
+        return factory != null &&
+               logger instanceof Slf4JLoggerAdaptor &&
+               factory.loggers.get(((Slf4JLoggerAdaptor) logger).getName()) == logger;
+    }
+
+    ILoggerFactory getTarget() {
+        return target;
+    }
+}
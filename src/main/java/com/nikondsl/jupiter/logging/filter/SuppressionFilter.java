@@ -0,0 +1,22 @@
+package com.nikondsl.jupiter.logging.filter;
+
+import com.nikondsl.jupiter.logging.policy.SuppressionPolicy;
+
+/**
+ * Filter which applies a suppression policy inside a logging framework, without wrapping loggers.
+ * It is installed before the test class and removed after it.
+ */
+public interface SuppressionFilter {
+
+    /**
+     * @return false if the logging framework is not in use, so nothing was installed
+     */
+    boolean install();
+
+    void uninstall();
+
+    /**
+     * Switches the policy of the filter, e.g. to add rules of a test method while it runs.
+     */
+    void setSuppressionPolicy(SuppressionPolicy policy);
+}
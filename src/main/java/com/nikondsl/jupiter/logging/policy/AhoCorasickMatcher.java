@@ -0,0 +1,183 @@
+package com.nikondsl.jupiter.logging.policy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Multi-pattern substring matcher. All patterns are compiled once into a deterministic automaton,
+ * so checking a message costs a single pass over its characters regardless of how many patterns there are.
+ * Instances are immutable and safe to share between threads.
+ */
+public final class AhoCorasickMatcher {
+    private static final int NO_MATCH = -1;
+    private static final AhoCorasickMatcher EMPTY = new AhoCorasickMatcher(new String[0]);
+
+    private final String[] patterns;
+    // column of the transition table for chars below 128, 0 means "char is not used by any pattern"
+    private final int[] asciiColumns = new int[128];
+    // sorted non-ascii chars used by patterns, column = index + 1 + asciiCount
+    private final char[] otherChars;
+    private final int otherColumnsOffset;
+    private final int width;
+    private final int[] transitions;
+    private final int[] output;
+
+    private AhoCorasickMatcher(String[] patterns) {
+        this.patterns = patterns.clone();
+
+        TreeSet<Character> alphabet = new TreeSet<>();
+        for (String pattern : this.patterns) {
+            for (int i = 0; i < pattern.length(); i++) {
+                alphabet.add(pattern.charAt(i));
+            }
+        }
+        int asciiCount = 0;
+        List<Character> others = new ArrayList<>();
+        for (Character ch : alphabet) {
+            if (ch < 128) {
+                asciiColumns[ch] = ++asciiCount;
+            } else {
+                others.add(ch);
+            }
+        }
+        otherChars = new char[others.size()];
+        for (int i = 0; i < otherChars.length; i++) {
+            otherChars[i] = others.get(i);
+        }
+        otherColumnsOffset = asciiCount + 1;
+        width = otherColumnsOffset + otherChars.length;
+
+        // build the trie
+        List<int[]> trie = new ArrayList<>();
+        List<Integer> outputs = new ArrayList<>();
+        trie.add(newRow());
+        outputs.add(NO_MATCH);
+        for (int index = 0; index < this.patterns.length; index++) {
+            String pattern = this.patterns[index];
+            int state = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                int column = column(pattern.charAt(i));
+                int next = trie.get(state)[column];
+                if (next <= 0) {
+                    next = trie.size();
+                    trie.add(newRow());
+                    outputs.add(NO_MATCH);
+                    trie.get(state)[column] = next;
+                }
+                state = next;
+            }
+            if (outputs.get(state) == NO_MATCH) {
+                outputs.set(state, index);
+            }
+        }
+
+        // turn the trie into a DFA following failure links in breadth-first order
+        int states = trie.size();
+        transitions = new int[states * width];
+        output = new int[states];
+        int[] failure = new int[states];
+        int[] queue = new int[states];
+        int head = 0;
+        int tail = 0;
+        for (int column = 0; column < width; column++) {
+            int next = trie.get(0)[column];
+            if (next > 0) {
+                transitions[column] = next;
+                failure[next] = 0;
+                queue[tail++] = next;
+            }
+        }
+        output[0] = outputs.get(0);
+        while (head < tail) {
+            int state = queue[head++];
+            int fallback = failure[state];
+            output[state] = outputs.get(state) != NO_MATCH ? outputs.get(state) : output[fallback];
+            for (int column = 0; column < width; column++) {
+                int next = trie.get(state)[column];
+                if (next > 0) {
+                    failure[next] = transitions[fallback * width + column];
+                    transitions[state * width + column] = next;
+                    queue[tail++] = next;
+                } else {
+                    transitions[state * width + column] = transitions[fallback * width + column];
+                }
+            }
+        }
+    }
+
+    private int[] newRow() {
+        return new int[width];
+    }
+
+    private int column(char ch) {
+        if (ch < 128) {
+            return asciiColumns[ch];
+        }
+        int found = Arrays.binarySearch(otherChars, ch);
+        return found < 0 ? 0 : otherColumnsOffset + found;
+    }
+
+    /**
+     * Compiles given patterns. Null patterns are ignored, duplicates are collapsed.
+     */
+    public static AhoCorasickMatcher compile(String... patterns) {
+        if (patterns == null || patterns.length == 0) {
+            return EMPTY;
+        }
+        Map<String, Boolean> unique = new HashMap<>();
+        List<String> toCompile = new ArrayList<>();
+        for (String pattern : patterns) {
+            if (pattern != null && unique.put(pattern, Boolean.TRUE) == null) {
+                toCompile.add(pattern);
+            }
+        }
+        if (toCompile.isEmpty()) {
+            return EMPTY;
+        }
+        return new AhoCorasickMatcher(toCompile.toArray(new String[0]));
+    }
+
+    public boolean isEmpty() {
+        return patterns.length == 0;
+    }
+
+    /**
+     * @return true if text contains at least one of the patterns
+     */
+    public boolean matches(CharSequence text) {
+        return find(text) != null;
+    }
+
+    /**
+     * @return the first pattern found in text (by position of its end) or null if there is none
+     */
+    public String find(CharSequence text) {
+        if (text == null || patterns.length == 0) {
+            return null;
+        }
+        if (output[0] != NO_MATCH) {
+            return patterns[output[0]];
+        }
+        int state = 0;
+        for (int i = 0, length = text.length(); i < length; i++) {
+            state = transitions[state * width + column(text.charAt(i))];
+            if (output[state] != NO_MATCH) {
+                return patterns[output[state]];
+            }
+        }
+        return null;
+    }
+
+    public List<String> getPatterns() {
+        return Arrays.asList(patterns.clone());
+    }
+
+    @Override
+    public String toString() {
+        return "AhoCorasickMatcher" + Arrays.toString(patterns);
+    }
+}
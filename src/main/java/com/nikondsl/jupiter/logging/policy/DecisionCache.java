@@ -0,0 +1,115 @@
+package com.nikondsl.jupiter.logging.policy;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Size-capped LRU cache of suppression decisions keyed by exception class and message.
+ * Every SuppressionPolicy owns its own cache, so a new policy always starts with an empty one.
+ */
+public final class DecisionCache {
+    private static final String NOT_HIDDEN = new String("not hidden");
+
+    private final int maxSize;
+    private final Map<Key, String> decisions;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public DecisionCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size should be positive, but was " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.decisions = new LinkedHashMap<Key, String>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, String> eldest) {
+                return size() > DecisionCache.this.maxSize;
+            }
+        };
+    }
+
+    static final class Key {
+        private final Class<?> type;
+        private final String message;
+        private final int hash;
+
+        Key(Class<?> type, String message) {
+            this.type = type;
+            this.message = message;
+            this.hash = 31 * type.hashCode() + (message == null ? 0 : message.hashCode());
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return type == key.type && Objects.equals(message, key.message);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    interface Loader {
+        String load(Class<?> type, String message);
+    }
+
+    /**
+     * @return cached replacement text (null means "not hidden"), calling loader on a miss
+     */
+    String get(Class<?> type, String message, Loader loader) {
+        Key key = new Key(type, message);
+        String found;
+        synchronized (decisions) {
+            found = decisions.get(key);
+        }
+        if (found != null) {
+            hits.incrementAndGet();
+            return found == NOT_HIDDEN ? null : found;
+        }
+        misses.incrementAndGet();
+        String loaded = loader.load(type, message);
+        synchronized (decisions) {
+            decisions.put(key, loaded == null ? NOT_HIDDEN : loaded);
+        }
+        return loaded;
+    }
+
+    public void invalidate() {
+        synchronized (decisions) {
+            decisions.clear();
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int size() {
+        synchronized (decisions) {
+            return decisions.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    @Override
+    public String toString() {
+        return "DecisionCache{size=" + size() + "/" + maxSize + ", hits=" + getHits() + ", misses=" + getMisses() + "}";
+    }
+}
@@ -0,0 +1,13 @@
+package com.nikondsl.jupiter.logging.policy;
+
+/**
+ * Logged instead of a hidden exception when a policy substitutes throwables, so the original log message
+ * (and its parameters) can be passed to the logger untouched. It has no stack trace and the replacement
+ * text as its message; instances are shared between events whenever the text does not contain a message.
+ */
+public final class HiddenException extends RuntimeException {
+
+    public HiddenException(String replacement) {
+        super(replacement, null, false, false);
+    }
+}
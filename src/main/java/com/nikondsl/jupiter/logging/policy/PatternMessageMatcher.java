@@ -0,0 +1,146 @@
+package com.nikondsl.jupiter.logging.policy;
+
+import com.nikondsl.jupiter.logging.annotations.MatchType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Regex and glob message rules compiled once per policy. Every rule keeps the longest literal its matches
+ * must contain, and all literals together form an automaton, so the regex engine runs only for messages
+ * which could possibly match.
+ */
+public final class PatternMessageMatcher {
+    private static final PatternMessageMatcher EMPTY = new PatternMessageMatcher(new ArrayList<>());
+
+    private final Rule[] rules;
+    // null if at least one rule has no required literal, so the whole set cannot be prefiltered
+    private final AhoCorasickMatcher anyLiteral;
+
+    private static final class Rule {
+        private final String source;
+        private final Pattern pattern;
+        private final String literal;
+        private final boolean wholeMessage;
+
+        Rule(String source, Pattern pattern, String literal, boolean wholeMessage) {
+            this.source = source;
+            this.pattern = pattern;
+            this.literal = literal;
+            this.wholeMessage = wholeMessage;
+        }
+
+        boolean matches(String message) {
+            if (literal != null && !message.contains(literal)) {
+                return false;
+            }
+            return wholeMessage ? pattern.matcher(message).matches() : pattern.matcher(message).find();
+        }
+
+        @Override
+        public String toString() {
+            return source;
+        }
+    }
+
+    private PatternMessageMatcher(List<Rule> rules) {
+        this.rules = rules.toArray(new Rule[0]);
+        List<String> literals = new ArrayList<>();
+        for (Rule rule : this.rules) {
+            if (rule.literal == null) {
+                literals = null;
+                break;
+            }
+            literals.add(rule.literal);
+        }
+        this.anyLiteral = literals == null ? null : AhoCorasickMatcher.compile(literals.toArray(new String[0]));
+    }
+
+    /**
+     * Compiles regex or glob patterns. Null patterns are ignored.
+     *
+     * @throws java.util.regex.PatternSyntaxException if a regex is invalid
+     */
+    public static PatternMessageMatcher compile(MatchType type, String... patterns) {
+        if (patterns == null || patterns.length == 0) {
+            return EMPTY;
+        }
+        if (type != MatchType.REGEX && type != MatchType.GLOB) {
+            throw new IllegalArgumentException("Only REGEX and GLOB patterns are supported, but was " + type);
+        }
+        List<Rule> rules = new ArrayList<>();
+        for (String pattern : patterns) {
+            if (pattern == null) {
+                continue;
+            }
+            if (type == MatchType.REGEX) {
+                rules.add(new Rule(pattern, Pattern.compile(pattern), RequiredLiterals.ofRegex(pattern), false));
+            } else {
+                rules.add(new Rule(pattern, globToRegex(pattern), RequiredLiterals.ofGlob(pattern), true));
+            }
+        }
+        return rules.isEmpty() ? EMPTY : new PatternMessageMatcher(rules);
+    }
+
+    /**
+     * @return matcher checking rules of both matchers
+     */
+    public PatternMessageMatcher and(PatternMessageMatcher other) {
+        if (other.isEmpty()) {
+            return this;
+        }
+        if (isEmpty()) {
+            return other;
+        }
+        List<Rule> all = new ArrayList<>(Arrays.asList(rules));
+        all.addAll(Arrays.asList(other.rules));
+        return new PatternMessageMatcher(all);
+    }
+
+    static Pattern globToRegex(String glob) {
+        StringBuilder regex = new StringBuilder();
+        StringBuilder literal = new StringBuilder();
+        for (int i = 0; i < glob.length(); i++) {
+            char ch = glob.charAt(i);
+            if (ch == '*' || ch == '?') {
+                if (literal.length() > 0) {
+                    regex.append(Pattern.quote(literal.toString()));
+                    literal.setLength(0);
+                }
+                regex.append(ch == '*' ? ".*" : ".");
+            } else {
+                literal.append(ch);
+            }
+        }
+        if (literal.length() > 0) {
+            regex.append(Pattern.quote(literal.toString()));
+        }
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+
+    public boolean isEmpty() {
+        return rules.length == 0;
+    }
+
+    public boolean matches(String message) {
+        if (message == null || rules.length == 0) {
+            return false;
+        }
+        if (anyLiteral != null && !anyLiteral.matches(message)) {
+            return false;
+        }
+        for (Rule rule : rules) {
+            if (rule.matches(message)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(rules);
+    }
+}
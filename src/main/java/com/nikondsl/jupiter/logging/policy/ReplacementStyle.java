@@ -0,0 +1,20 @@
+package com.nikondsl.jupiter.logging.policy;
+
+/**
+ * What is logged instead of a hidden exception.
+ */
+public enum ReplacementStyle {
+    /**
+     * Class name, the rule and the message, e.g. 'java.lang.IllegalStateException is hidden by message:abc' (default).
+     */
+    FULL,
+    /**
+     * Class name and the rule only, e.g. 'java.lang.IllegalStateException is hidden by message'.
+     * The text is rendered once per class, so hiding an exception allocates nothing.
+     */
+    CLASS_ONLY,
+    /**
+     * The same fixed token for every hidden exception.
+     */
+    TOKEN
+}
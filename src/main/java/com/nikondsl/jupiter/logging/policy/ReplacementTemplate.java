@@ -0,0 +1,53 @@
+package com.nikondsl.jupiter.logging.policy;
+
+/**
+ * Replacement text of one kind of rule. The part with the class name is rendered once per class
+ * (class names themselves are cached in a ClassValue), so only the message is appended per exception.
+ */
+enum ReplacementTemplate {
+    CLASS("{} is hidden by class", ""),
+    MESSAGE("{} is hidden by message", ":"),
+    CLASS_AND_MESSAGE("{} is hidden by class: {} and message", ":"),
+    CAUSE("{} is hidden by cause", ": "),
+    SUSPENDED("{} is suspended", "");
+
+    private static final ReplacementTemplate[] ALL = values();
+    private static final ClassValue<String> CLASS_NAMES = new ClassValue<String>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            String name = type.getCanonicalName();
+            // anonymous and local classes have no canonical name
+            return name != null ? name : type.getName();
+        }
+    };
+
+    private final String[] parts;
+    private final String detailSeparator;
+
+    ReplacementTemplate(String pattern, String detailSeparator) {
+        this.parts = pattern.split("\\{}", -1);
+        this.detailSeparator = detailSeparator;
+    }
+
+    /**
+     * @return texts of all templates for given class, indexed by ordinal
+     */
+    static String[] renderAll(Class<?> type, ReplacementStyle style) {
+        String[] result = new String[ALL.length];
+        for (ReplacementTemplate template : ALL) {
+            result[template.ordinal()] = template.render(CLASS_NAMES.get(type), style);
+        }
+        return result;
+    }
+
+    private String render(String className, ReplacementStyle style) {
+        StringBuilder result = new StringBuilder(parts[0]);
+        for (int i = 1; i < parts.length; i++) {
+            result.append(className).append(parts[i]);
+        }
+        if (style == ReplacementStyle.FULL) {
+            result.append(detailSeparator);
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,285 @@
+package com.nikondsl.jupiter.logging.policy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pulls literal substrings out of regex and glob patterns which every matching message must contain.
+ * The analysis is conservative: whenever a construct is not understood, no literal is reported and
+ * the pattern is simply evaluated without a prefilter.
+ */
+final class RequiredLiterals {
+
+    private RequiredLiterals() {
+    }
+
+    /**
+     * @return the longest literal every match of the glob contains or null if there is none
+     */
+    static String ofGlob(String glob) {
+        String longest = null;
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i <= glob.length(); i++) {
+            if (i == glob.length() || glob.charAt(i) == '*' || glob.charAt(i) == '?') {
+                longest = longer(longest, current);
+                current.setLength(0);
+            } else {
+                current.append(glob.charAt(i));
+            }
+        }
+        return longest;
+    }
+
+    /**
+     * @return the longest literal every match of the regex contains or null if it cannot be determined
+     */
+    static String ofRegex(String regex) {
+        List<String> literals = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        // true if the last atom is the last char of 'current', so a following quantifier applies to it
+        boolean lastAtomIsChar = false;
+        int i = 0;
+        int length = regex.length();
+        while (i < length) {
+            char ch = regex.charAt(i);
+            switch (ch) {
+                case '\\': {
+                    if (i + 1 >= length) {
+                        return null;
+                    }
+                    char next = regex.charAt(i + 1);
+                    if (next == 'Q') {
+                        int end = regex.indexOf("\\E", i + 2);
+                        String quoted = end < 0 ? regex.substring(i + 2) : regex.substring(i + 2, end);
+                        current.append(quoted);
+                        lastAtomIsChar = !quoted.isEmpty();
+                        i = end < 0 ? length : end + 2;
+                    } else if (Character.isLetterOrDigit(next)) {
+                        flush(literals, current);
+                        lastAtomIsChar = false;
+                        i = skipEscape(regex, i + 1);
+                        if (i < 0) {
+                            return null;
+                        }
+                    } else {
+                        current.append(next);
+                        lastAtomIsChar = true;
+                        i += 2;
+                    }
+                    break;
+                }
+                case '[': {
+                    flush(literals, current);
+                    lastAtomIsChar = false;
+                    i = skipCharacterClass(regex, i);
+                    if (i < 0) {
+                        return null;
+                    }
+                    break;
+                }
+                case '(': {
+                    if (i + 2 < length && regex.charAt(i + 1) == '?' && isInlineFlag(regex.charAt(i + 2))) {
+                        // flags like (?i) change how literals match
+                        return null;
+                    }
+                    flush(literals, current);
+                    lastAtomIsChar = false;
+                    i = skipGroup(regex, i);
+                    if (i < 0) {
+                        return null;
+                    }
+                    break;
+                }
+                case '|':
+                    // alternation at the top level, nothing is required for sure
+                    return null;
+                case '*':
+                case '?':
+                case '{': {
+                    boolean optional = ch != '{' || minRepeats(regex, i) == 0;
+                    if (optional && lastAtomIsChar) {
+                        current.setLength(current.length() - 1);
+                    }
+                    flush(literals, current);
+                    lastAtomIsChar = false;
+                    i = ch == '{' ? regex.indexOf('}', i) + 1 : i + 1;
+                    if (i <= 0) {
+                        return null;
+                    }
+                    i = skipQuantifierSuffix(regex, i);
+                    break;
+                }
+                case '+': {
+                    flush(literals, current);
+                    lastAtomIsChar = false;
+                    i = skipQuantifierSuffix(regex, i + 1);
+                    break;
+                }
+                case '.':
+                case '^':
+                case '$': {
+                    flush(literals, current);
+                    lastAtomIsChar = false;
+                    i++;
+                    break;
+                }
+                default: {
+                    current.append(ch);
+                    lastAtomIsChar = true;
+                    i++;
+                }
+            }
+        }
+        flush(literals, current);
+        String longest = null;
+        for (String literal : literals) {
+            if (longest == null || literal.length() > longest.length()) {
+                longest = literal;
+            }
+        }
+        return longest;
+    }
+
+    private static boolean isInlineFlag(char ch) {
+        return "idmsuxU-".indexOf(ch) >= 0;
+    }
+
+    private static String longer(String longest, CharSequence candidate) {
+        if (candidate.length() == 0) {
+            return longest;
+        }
+        if (longest == null || candidate.length() > longest.length()) {
+            return candidate.toString();
+        }
+        return longest;
+    }
+
+    private static void flush(List<String> literals, StringBuilder current) {
+        if (current.length() > 0) {
+            literals.add(current.toString());
+            current.setLength(0);
+        }
+    }
+
+    /**
+     * @param start index of the char right after backslash
+     * @return index after the escape sequence or -1 if it is malformed
+     */
+    private static int skipEscape(String regex, int start) {
+        char ch = regex.charAt(start);
+        switch (ch) {
+            case 'x':
+                if (start + 1 < regex.length() && regex.charAt(start + 1) == '{') {
+                    int end = regex.indexOf('}', start);
+                    return end < 0 ? -1 : end + 1;
+                }
+                return start + 3;
+            case 'u':
+                return start + 5;
+            case 'c':
+                return start + 2;
+            case 'p':
+            case 'P':
+            case 'N':
+                if (start + 1 < regex.length() && regex.charAt(start + 1) == '{') {
+                    int end = regex.indexOf('}', start);
+                    return end < 0 ? -1 : end + 1;
+                }
+                return start + 2;
+            case 'k': {
+                int end = regex.indexOf('>', start);
+                return end < 0 ? -1 : end + 1;
+            }
+            default:
+                if (Character.isDigit(ch)) {
+                    int end = start;
+                    while (end < regex.length() && Character.isDigit(regex.charAt(end))) {
+                        end++;
+                    }
+                    return end;
+                }
+                return start + 1;
+        }
+    }
+
+    private static int skipCharacterClass(String regex, int start) {
+        int depth = 0;
+        int i = start;
+        while (i < regex.length()) {
+            char ch = regex.charAt(i);
+            if (ch == '\\') {
+                i += 2;
+                continue;
+            }
+            if (ch == '[') {
+                depth++;
+                // ']' right after '[' or '[^' is a literal
+                if (i + 1 < regex.length() && regex.charAt(i + 1) == '^') {
+                    i++;
+                }
+                if (i + 1 < regex.length() && regex.charAt(i + 1) == ']') {
+                    i++;
+                }
+            } else if (ch == ']') {
+                depth--;
+                if (depth == 0) {
+                    return i + 1;
+                }
+            }
+            i++;
+        }
+        return -1;
+    }
+
+    private static int skipGroup(String regex, int start) {
+        int depth = 0;
+        int i = start;
+        while (i < regex.length()) {
+            char ch = regex.charAt(i);
+            if (ch == '\\') {
+                if (i + 1 < regex.length() && regex.charAt(i + 1) == 'Q') {
+                    int end = regex.indexOf("\\E", i + 2);
+                    if (end < 0) {
+                        return -1;
+                    }
+                    i = end + 2;
+                } else {
+                    i += 2;
+                }
+                continue;
+            }
+            if (ch == '[') {
+                i = skipCharacterClass(regex, i);
+                if (i < 0) {
+                    return -1;
+                }
+                continue;
+            }
+            if (ch == '(') {
+                depth++;
+            } else if (ch == ')') {
+                depth--;
+                if (depth == 0) {
+                    return i + 1;
+                }
+            }
+            i++;
+        }
+        return -1;
+    }
+
+    private static int minRepeats(String regex, int start) {
+        int result = 0;
+        for (int i = start + 1; i < regex.length() && Character.isDigit(regex.charAt(i)); i++) {
+            result = result * 10 + (regex.charAt(i) - '0');
+        }
+        return result;
+    }
+
+    private static int skipQuantifierSuffix(String regex, int i) {
+        if (i < regex.length() && (regex.charAt(i) == '?' || regex.charAt(i) == '+')) {
+            return i + 1;
+        }
+        return i;
+    }
+}
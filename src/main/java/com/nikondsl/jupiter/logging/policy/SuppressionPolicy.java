@@ -0,0 +1,480 @@
+package com.nikondsl.jupiter.logging.policy;
+
+import com.nikondsl.jupiter.logging.annotations.ClassAndMessage;
+import com.nikondsl.jupiter.logging.annotations.MatchType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Immutable, compiled form of @HideByExceptionClass, @HideByExceptionMessage and @HideByExceptionClassAndMessage
+ * rules. It is built once per annotated field (or test class) and then shared by all adaptors created for it,
+ * so checking an exception does not touch annotations or reflection anymore.
+ * Class rules (alone or paired with a message) match the declared class and all of its subclasses.
+ */
+public final class SuppressionPolicy {
+    public static final SuppressionPolicy EMPTY = builder().build();
+    public static final SuppressionPolicy SUSPENDED = builder().suspend(true).build();
+    public static final String DEFAULT_REPLACEMENT_TOKEN = "<hidden exception>";
+
+    private final Set<Class<?>> hiddenClasses;
+    private final AhoCorasickMatcher hiddenMessages;
+    private final PatternMessageMatcher hiddenMessagePatterns;
+    private final Map<Class<?>, List<String>> hiddenClassAndMessages;
+    // the hierarchy of every exception type is walked once, later lookups are constant time
+    private final ClassValue<ClassDecision> decisions = new ClassValue<ClassDecision>() {
+        @Override
+        protected ClassDecision computeValue(Class<?> type) {
+            return decide(type);
+        }
+    };
+    private final DecisionCache decisionCache;
+    private final DecisionCache.Loader byMessage = this::getReplacementByMessage;
+    private final int causeDepth;
+    private final boolean suspended;
+    private final ReplacementStyle replacementStyle;
+    private final String replacementToken;
+    private final boolean substituteThrowables;
+    // substitutes for texts which do not depend on a message, i.e. for a limited number of texts
+    private final ConcurrentMap<String, HiddenException> substitutes = new ConcurrentHashMap<>();
+    // exceptions on the path from the logged one to the checked cause, reused to detect cycles without allocations
+    private final ThreadLocal<Throwable[]> causePath;
+    // asked for exceptions which are not hidden by this policy, see orElse
+    private final SuppressionPolicy next;
+
+    private SuppressionPolicy(Builder builder) {
+        this.hiddenClasses = Collections.unmodifiableSet(new HashSet<>(builder.classes));
+        this.hiddenMessages = AhoCorasickMatcher.compile(builder.messages.toArray(new String[0]));
+        this.hiddenMessagePatterns = builder.messagePatterns;
+        Map<Class<?>, List<String>> byClass = new HashMap<>();
+        for (Map.Entry<Class<?>, List<String>> entry : builder.classAndMessages.entrySet()) {
+            byClass.put(entry.getKey(), Collections.unmodifiableList(new ArrayList<>(entry.getValue())));
+        }
+        this.hiddenClassAndMessages = Collections.unmodifiableMap(byClass);
+        this.decisionCache = builder.decisionCacheSize > 0 ? new DecisionCache(builder.decisionCacheSize) : null;
+        this.causeDepth = Math.max(0, builder.causeDepth);
+        this.suspended = builder.suspended;
+        this.replacementStyle = builder.replacementStyle;
+        this.replacementToken = builder.replacementToken;
+        this.substituteThrowables = builder.substituteThrowables;
+        this.causePath = causeDepth > 0 ? ThreadLocal.withInitial(() -> new Throwable[causeDepth + 1]) : null;
+        this.next = null;
+    }
+
+    private SuppressionPolicy(SuppressionPolicy rules, SuppressionPolicy next) {
+        this.hiddenClasses = rules.hiddenClasses;
+        this.hiddenMessages = rules.hiddenMessages;
+        this.hiddenMessagePatterns = rules.hiddenMessagePatterns;
+        this.hiddenClassAndMessages = rules.hiddenClassAndMessages;
+        this.decisionCache = rules.decisionCache;
+        this.causeDepth = rules.causeDepth;
+        this.suspended = rules.suspended || next.suspended;
+        this.replacementStyle = rules.replacementStyle;
+        this.replacementToken = rules.replacementToken;
+        this.substituteThrowables = rules.substituteThrowables;
+        this.causePath = rules.causePath;
+        this.next = rules.next == null ? next : rules.next.orElse(next);
+    }
+
+    /**
+     * Decision for a particular exception type: the nearest class rule it is hidden by (if any),
+     * all class-and-message rules declared for the type or any of its super classes
+     * and whether any message based rule applies at all, i.e. whether getMessage() is worth calling.
+     * Replacement texts for the type are rendered here too, once.
+     */
+    static final class ClassDecision {
+        private final Class<?> hiddenBy;
+        private final AhoCorasickMatcher classAndMessages;
+        private final boolean needsMessage;
+        private final String[] replacements;
+
+        ClassDecision(Class<?> hiddenBy, AhoCorasickMatcher classAndMessages, boolean needsMessage, String[] replacements) {
+            this.hiddenBy = hiddenBy;
+            this.classAndMessages = classAndMessages;
+            this.needsMessage = needsMessage;
+            this.replacements = replacements;
+        }
+
+        Class<?> getHiddenBy() {
+            return hiddenBy;
+        }
+
+        AhoCorasickMatcher getClassAndMessages() {
+            return classAndMessages;
+        }
+
+        boolean isMessageNeeded() {
+            return needsMessage;
+        }
+    }
+
+    private ClassDecision decide(Class<?> type) {
+        Class<?> hiddenBy = null;
+        List<String> messages = new ArrayList<>();
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            if (hiddenBy == null && hiddenClasses.contains(current)) {
+                hiddenBy = current;
+            }
+            List<String> forClass = hiddenClassAndMessages.get(current);
+            if (forClass != null) {
+                messages.addAll(forClass);
+            }
+        }
+        AhoCorasickMatcher classAndMessages = AhoCorasickMatcher.compile(messages.toArray(new String[0]));
+        boolean needsMessage = hiddenBy == null &&
+                (!hiddenMessages.isEmpty() || !hiddenMessagePatterns.isEmpty() || !classAndMessages.isEmpty());
+        String[] replacements = replacementStyle == ReplacementStyle.TOKEN ? null : ReplacementTemplate.renderAll(type, replacementStyle);
+        return new ClassDecision(hiddenBy, classAndMessages, needsMessage, replacements);
+    }
+
+    /**
+     * @param detail message or replacement of a cause, it is appended for FULL style only
+     */
+    private String render(ClassDecision decision, ReplacementTemplate template, String detail) {
+        if (replacementStyle == ReplacementStyle.TOKEN) {
+            return replacementToken;
+        }
+        String text = decision.replacements[template.ordinal()];
+        if (detail == null || replacementStyle != ReplacementStyle.FULL) {
+            return text;
+        }
+        return text.concat(detail);
+    }
+
+    ClassDecision getDecision(Class<?> type) {
+        return decisions.get(type);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return true if all exceptions are hidden regardless of rules
+     */
+    public boolean isSuspended() {
+        return suspended;
+    }
+
+    public boolean isEmpty() {
+        return !suspended &&
+                hiddenClasses.isEmpty() &&
+                hiddenMessages.isEmpty() &&
+                hiddenMessagePatterns.isEmpty() &&
+                hiddenClassAndMessages.isEmpty() &&
+                (next == null || next.isEmpty());
+    }
+
+    /**
+     * Combines compiled policies without compiling them again: the result hides what this policy hides
+     * (replacements are rendered by this policy) and everything else the given one hides.
+     */
+    public SuppressionPolicy orElse(SuppressionPolicy other) {
+        if (other == null || other.isEmpty()) {
+            return this;
+        }
+        return new SuppressionPolicy(this, other);
+    }
+
+    /**
+     * @return text to log instead of the throwable or null if throwable should be logged as is
+     */
+    public String getReplacement(Throwable throwable) {
+        String replacement = getReplacementByRules(throwable);
+        if (replacement == null && next != null) {
+            return next.getReplacement(throwable);
+        }
+        return replacement;
+    }
+
+    private String getReplacementByRules(Throwable throwable) {
+        if (suspended) {
+            return render(decisions.get(throwable.getClass()), ReplacementTemplate.SUSPENDED, null);
+        }
+        String replacement = getOwnReplacement(throwable);
+        if (replacement != null || causeDepth == 0) {
+            return replacement;
+        }
+        replacement = findInCauses(throwable, true);
+        if (replacement == null) {
+            return null;
+        }
+        return render(decisions.get(throwable.getClass()), ReplacementTemplate.CAUSE, replacement);
+    }
+
+    /**
+     * The same decision as getReplacement() makes, without rendering a replacement text,
+     * for callers which only drop or keep an event (e.g. logging framework filters).
+     */
+    public boolean isHidden(Throwable throwable) {
+        if (suspended || isOwnHidden(throwable) || causeDepth > 0 && findInCauses(throwable, false) != null) {
+            return true;
+        }
+        return next != null && next.isHidden(throwable);
+    }
+
+    /**
+     * @param render false if any non null text will do, i.e. just the decision is needed
+     * @return replacement of the first hidden cause or null
+     */
+    private String findInCauses(Throwable throwable, boolean render) {
+        Throwable[] path = causePath.get();
+        path[0] = throwable;
+        try {
+            return findInCauses(throwable, 1, path, render);
+        } finally {
+            Arrays.fill(path, null);
+        }
+    }
+
+    /**
+     * Depth-first walk over causes and suppressed exceptions. Uses plain array loops only,
+     * the only allocation is the copy getSuppressed() makes when there are suppressed exceptions.
+     */
+    private String findInCauses(Throwable parent, int depth, Throwable[] path, boolean render) {
+        if (depth > causeDepth) {
+            return null;
+        }
+        String replacement = checkCause(parent.getCause(), depth, path, render);
+        if (replacement != null) {
+            return replacement;
+        }
+        Throwable[] suppressed = parent.getSuppressed();
+        for (int i = 0; i < suppressed.length; i++) {
+            replacement = checkCause(suppressed[i], depth, path, render);
+            if (replacement != null) {
+                return replacement;
+            }
+        }
+        return null;
+    }
+
+    private String checkCause(Throwable cause, int depth, Throwable[] path, boolean render) {
+        if (cause == null) {
+            return null;
+        }
+        for (int i = 0; i < depth; i++) {
+            if (path[i] == cause) {
+                return null;
+            }
+        }
+        if (render) {
+            String replacement = getOwnReplacement(cause);
+            if (replacement != null) {
+                return replacement;
+            }
+        } else if (isOwnHidden(cause)) {
+            return replacementToken;
+        }
+        path[depth] = cause;
+        return findInCauses(cause, depth + 1, path, render);
+    }
+
+    private boolean isOwnHidden(Throwable throwable) {
+        Class<?> type = throwable.getClass();
+        ClassDecision decision = decisions.get(type);
+        if (decision.hiddenBy != null) {
+            return true;
+        }
+        if (!decision.needsMessage) {
+            return false;
+        }
+        String message = throwable.getMessage();
+        if (decisionCache != null) {
+            return decisionCache.get(type, message, byMessage) != null;
+        }
+        return hiddenMessages.matches(message) ||
+               decision.classAndMessages.matches(message) ||
+               hiddenMessagePatterns.matches(message);
+    }
+
+    private String getOwnReplacement(Throwable throwable) {
+        Class<?> type = throwable.getClass();
+        ClassDecision decision = decisions.get(type);
+        if (decision.hiddenBy != null) {
+            return render(decision, ReplacementTemplate.CLASS, null);
+        }
+        if (!decision.needsMessage) {
+            return null;
+        }
+        // the only getMessage() call for this exception, it may be expensive to build
+        String message = throwable.getMessage();
+        if (decisionCache != null) {
+            return decisionCache.get(type, message, byMessage);
+        }
+        return getReplacementByMessage(type, message);
+    }
+
+    /**
+     * Rules are evaluated from the cheapest to the most expensive one: single pass automata first, regex last.
+     */
+    private String getReplacementByMessage(Class<?> type, String message) {
+        ClassDecision decision = decisions.get(type);
+        if (hiddenMessages.matches(message)) {
+            return render(decision, ReplacementTemplate.MESSAGE, message);
+        }
+        if (decision.classAndMessages.matches(message)) {
+            return render(decision, ReplacementTemplate.CLASS_AND_MESSAGE, message);
+        }
+        if (hiddenMessagePatterns.matches(message)) {
+            return render(decision, ReplacementTemplate.MESSAGE, message);
+        }
+        return null;
+    }
+
+    /**
+     * @return true if hidden exceptions should be logged as HiddenException rather than replaced by text
+     */
+    public boolean isSubstitutingThrowables() {
+        return substituteThrowables;
+    }
+
+    /**
+     * @param replacement text returned by getReplacement()
+     * @return exception without stack trace to log instead of the hidden one
+     */
+    public HiddenException getSubstitute(String replacement) {
+        if (replacementStyle == ReplacementStyle.FULL) {
+            return new HiddenException(replacement);
+        }
+        HiddenException substitute = substitutes.get(replacement);
+        if (substitute == null) {
+            substitute = substitutes.computeIfAbsent(replacement, HiddenException::new);
+        }
+        return substitute;
+    }
+
+    /**
+     * @return cache of decisions made by message or null if caching is not enabled for this policy
+     */
+    public DecisionCache getDecisionCache() {
+        return decisionCache;
+    }
+
+    @Override
+    public String toString() {
+        if (suspended) {
+            return "SuppressionPolicy{suspended}";
+        }
+        return "SuppressionPolicy{classes=" + hiddenClasses +
+                ", messages=" + hiddenMessages.getPatterns() +
+                (hiddenMessagePatterns.isEmpty() ? "" : ", messagePatterns=" + hiddenMessagePatterns) +
+                ", classAndMessages=" + hiddenClassAndMessages +
+                (replacementStyle == ReplacementStyle.FULL ? "" : ", replacementStyle=" + replacementStyle) +
+                (substituteThrowables ? ", substituteThrowables" : "") +
+                (decisionCache != null ? ", " + decisionCache : "") +
+                (next != null ? ", orElse=" + next : "") + "}";
+    }
+
+    public static class Builder {
+        private final List<Class<?>> classes = new ArrayList<>();
+        private final List<String> messages = new ArrayList<>();
+        private PatternMessageMatcher messagePatterns = PatternMessageMatcher.compile(MatchType.REGEX);
+        private final Map<Class<?>, List<String>> classAndMessages = new LinkedHashMap<>();
+        private int decisionCacheSize;
+        private int causeDepth;
+        private boolean suspended;
+        private ReplacementStyle replacementStyle = ReplacementStyle.FULL;
+        private String replacementToken = DEFAULT_REPLACEMENT_TOKEN;
+        private boolean substituteThrowables;
+
+        private Builder() {
+        }
+
+        public Builder hideClasses(Class<?>[] values) {
+            if (values != null) {
+                classes.addAll(Arrays.asList(values));
+            }
+            return this;
+        }
+
+        public Builder hideMessages(String[] values) {
+            return hideMessages(values, MatchType.CONTAINS);
+        }
+
+        public Builder hideMessages(String[] values, MatchType type) {
+            if (values == null) {
+                return this;
+            }
+            if (type == null || type == MatchType.CONTAINS) {
+                messages.addAll(Arrays.asList(values));
+            } else {
+                messagePatterns = messagePatterns.and(PatternMessageMatcher.compile(type, values));
+            }
+            return this;
+        }
+
+        public Builder hideClassAndMessages(ClassAndMessage[] values) {
+            if (values != null) {
+                for (ClassAndMessage value : values) {
+                    classAndMessages
+                            .computeIfAbsent(value.clazz(), key -> new ArrayList<>())
+                            .add(value.message());
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Enables caching of decisions by exception class and message, 0 disables it.
+         */
+        public Builder decisionCacheSize(int size) {
+            this.decisionCacheSize = size;
+            return this;
+        }
+
+        /**
+         * Also checks causes and suppressed exceptions up to given depth, 0 (default) checks only the logged exception.
+         */
+        public Builder causeDepth(int depth) {
+            this.causeDepth = depth;
+            return this;
+        }
+
+        /**
+         * Makes the policy hide all exceptions, see LoggingExtension.setSuspendLogging
+         */
+        public Builder suspend(boolean suspended) {
+            this.suspended = suspended;
+            return this;
+        }
+
+        /**
+         * Sets what is logged instead of a hidden exception, FULL by default.
+         */
+        public Builder replacementStyle(ReplacementStyle style) {
+            this.replacementStyle = style == null ? ReplacementStyle.FULL : style;
+            return this;
+        }
+
+        /**
+         * Sets the text logged instead of every hidden exception for TOKEN style.
+         */
+        public Builder replacementToken(String token) {
+            this.replacementToken = token == null ? DEFAULT_REPLACEMENT_TOKEN : token;
+            return this;
+        }
+
+        /**
+         * Makes adaptors log a HiddenException instead of appending the replacement text to the message,
+         * so messages are passed to the logger untouched (e.g. Log4j2 reusable messages and async loggers).
+         */
+        public Builder substituteThrowables(boolean substitute) {
+            this.substituteThrowables = substitute;
+            return this;
+        }
+
+        public SuppressionPolicy build() {
+            return new SuppressionPolicy(this);
+        }
+    }
+}
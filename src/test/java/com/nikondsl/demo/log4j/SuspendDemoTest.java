@@ -1,5 +1,6 @@
 package com.nikondsl.demo.log4j;
 
+import com.nikondsl.jupiter.logging.annotations.SuspendLogging;
 import com.nikondsl.jupiter.logging.extension.LoggingExtension;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -14,6 +15,7 @@ import static org.junit.jupiter.api.Assertions.fail;
  * Just run tests and see that logs does not contain any printed exception.
  */
 @ExtendWith(LoggingExtension.class)
+@SuspendLogging
 public class SuspendDemoTest {
 
     private static SecondsToMinutesUtils secsToMins;
@@ -21,7 +23,6 @@ public class SuspendDemoTest {
     @BeforeAll
     public static void setUp() throws Exception {
         secsToMins = new SecondsToMinutesUtils();
-        LoggingExtension.setSuspendLogging(true);
     }
 
     @Test
@@ -1,23 +1,28 @@
 package com.nikondsl.jupiter.logging.adapters;
 
+import com.nikondsl.jupiter.logging.adapters.impl.Slf4JLoggerAdaptor;
 import com.nikondsl.jupiter.logging.annotations.ClassAndMessage;
-import org.junit.jupiter.api.AfterAll;
-import org.junit.jupiter.api.BeforeEach;
+import com.nikondsl.jupiter.logging.policy.SuppressionPolicy;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.lang.annotation.Annotation;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.mock;
 
 @ExtendWith(MockitoExtension.class)
 public class LoggerAdapterRepositoryTest {
@@ -50,23 +55,6 @@ public class LoggerAdapterRepositoryTest {
     @Spy
     private LoggerAdapterRepository repository;
 
-    @BeforeEach
-    public void setUp() {
-        clear();
-    }
-
-    private static void clear() {
-        LoggerAdapterRepository.getInstance().setSuspendLogic(new AtomicBoolean(false));
-        LoggerAdapterRepository.getInstance().setExceptionClassesToHide(null);
-        LoggerAdapterRepository.getInstance().setExceptionMessagesToHide(null);
-        LoggerAdapterRepository.getInstance().setExceptionClassAndMessageToHide(null);
-    }
-
-    @AfterAll
-    public static void tearDown() {
-        clear();
-    }
-
     @Test
     public void testCreate() {
         LoggerAdapterRepository.addToRegisteredAdaptors(new SimpleLoggerAdapter(null, LoggerAdapterRepository.getInstance()));
@@ -92,16 +80,55 @@ public class LoggerAdapterRepositoryTest {
         assertFalse(LoggerAdapterRepository.isLoggerSupported(log2.getClass().getCanonicalName()));
     }
 
+    @Test
+    public void builtInFactoriesAreLoadedByServiceLoader() {
+        List<String> names = LoggerAdapterRepository.getRegisteredFactories().stream()
+                .map(factory -> factory.getClass().getSimpleName())
+                .collect(Collectors.toList());
+
+        assertTrue(names.contains("Slf4JLoggerAdaptorFactory"));
+        assertTrue(names.contains("Log4jLoggerAdaptorFactory"));
+        assertTrue(names.contains("Log4j2LoggerAdaptorFactory"));
+        assertTrue(LoggerAdapterRepository.isLoggerSupported("org.slf4j.Logger"));
+    }
+
+    @Test
+    public void registeringDoesNotChangeListInUse() {
+        List<LoggerAdaptorFactory> before = LoggerAdapterRepository.getRegisteredFactories();
+
+        LoggerAdapterRepository.addToRegisteredAdaptors(new SimpleLoggerAdapter(null, LoggerAdapterRepository.getInstance()));
+
+        assertEquals(before.size() + 1, LoggerAdapterRepository.getRegisteredFactories().size());
+        assertThrows(UnsupportedOperationException.class, () -> before.add(null));
+    }
+
+    @Test
+    public void matchesImplementationsOfSupportedInterfaces() {
+        org.slf4j.Logger logger = mock(org.slf4j.Logger.class);
+
+        assertTrue(LoggerAdapterRepository.isLoggerSupported(logger.getClass()));
+        assertTrue(LoggerAdapterRepository.createAdaptor(logger) instanceof Slf4JLoggerAdaptor);
+        assertFalse(LoggerAdapterRepository.isLoggerSupported(String.class));
+    }
+
+    @Test
+    public void matchesSubclassesOfSupportedClasses() {
+        LoggerAdapterRepository.addToRegisteredAdaptors(new SimpleLoggerAdapter(null, LoggerAdapterRepository.getInstance()));
+
+        assertTrue(LoggerAdapterRepository.isLoggerSupported(SimpleLoggerAdapter.class));
+        assertTrue(LoggerAdapterRepository.isLoggerSupported(NoValidConstructorAdapter.class));
+    }
+
     @Test
     public void sanitizeNull() {
-        assertNull(LoggerAdapterRepository.getInstance().sanitize(null));
+        assertNull(LoggerAdapterRepository.getInstance().sanitize(null, SuppressionPolicy.EMPTY));
     }
 
     @Test
     public void sanitizeExceptionSuspended() {
-        LoggerAdapterRepository.getInstance().setSuspendLogic(new AtomicBoolean(true));
+        SuppressionPolicy policy = SuppressionPolicy.SUSPENDED;
 
-        String result = (String) LoggerAdapterRepository.getInstance().sanitize(new IllegalArgumentException());
+        String result = (String) LoggerAdapterRepository.getInstance().sanitize(new IllegalArgumentException(), policy);
 
         assertEquals("java.lang.IllegalArgumentException is suspended", result);
     }
@@ -110,94 +137,88 @@ public class LoggerAdapterRepositoryTest {
     public void sanitizeExceptionOk() {
         IllegalArgumentException exception = new IllegalArgumentException();
 
-        Exception result = (Exception) LoggerAdapterRepository.getInstance().sanitize(exception);
+        Exception result = (Exception) LoggerAdapterRepository.getInstance().sanitize(exception, SuppressionPolicy.EMPTY);
 
         assertSame(exception, result);
     }
 
     @Test
     public void sanitizeExceptionMatchesException() {
-        LoggerAdapterRepository.getInstance().setExceptionClassesToHide(new Class[] {IllegalArgumentException.class});
+        SuppressionPolicy policy = SuppressionPolicy.builder().hideClasses(new Class[] {IllegalArgumentException.class}).build();
         IllegalArgumentException exception = new IllegalArgumentException("abc");
 
-        String result = (String) LoggerAdapterRepository.getInstance().sanitize(exception);
+        String result = (String) LoggerAdapterRepository.getInstance().sanitize(exception, policy);
 
         assertEquals("java.lang.IllegalArgumentException is hidden by class", result);
     }
 
     @Test
     public void sanitizeExceptionDoesNotMatchException() {
-        LoggerAdapterRepository.getInstance().setExceptionClassesToHide(new Class[] {IllegalStateException.class});
+        SuppressionPolicy policy = SuppressionPolicy.builder().hideClasses(new Class[] {IllegalStateException.class}).build();
         IllegalArgumentException exception = new IllegalArgumentException("abc");
 
-        Exception result = (Exception) LoggerAdapterRepository.getInstance().sanitize(exception);
+        Exception result = (Exception) LoggerAdapterRepository.getInstance().sanitize(exception, policy);
 
         assertSame(exception, result);
     }
 
     @Test
     public void sanitizeExceptionMatchesExceptionAndMessage() {
-        LoggerAdapterRepository.getInstance().setExceptionClassAndMessageToHide(new ClassAndMessage[] {
-            anno
-        });
+        SuppressionPolicy policy = SuppressionPolicy.builder().hideClassAndMessages(new ClassAndMessage[] {anno}).build();
         IllegalArgumentException exception = new IllegalArgumentException("aaabbbccc");
 
-        String result = (String) LoggerAdapterRepository.getInstance().sanitize(exception);
+        String result = (String) LoggerAdapterRepository.getInstance().sanitize(exception, policy);
 
         assertEquals("java.lang.IllegalArgumentException is hidden by class: java.lang.IllegalArgumentException and message:aaabbbccc", result);
     }
 
     @Test
     public void sanitizeExceptionDoesNotMatchExceptionAndMessage1() {
-        LoggerAdapterRepository.getInstance().setExceptionClassAndMessageToHide(new ClassAndMessage[] {
-                anno
-        });
+        SuppressionPolicy policy = SuppressionPolicy.builder().hideClassAndMessages(new ClassAndMessage[] {anno}).build();
         IllegalArgumentException exception = new IllegalArgumentException("abc");
 
-        Exception result = (Exception) LoggerAdapterRepository.getInstance().sanitize(exception);
+        Exception result = (Exception) LoggerAdapterRepository.getInstance().sanitize(exception, policy);
         assertSame(exception, result);
     }
 
     @Test
     public void sanitizeExceptionDoesNotMatchExceptionAndMessage2() {
-        LoggerAdapterRepository.getInstance().setExceptionClassAndMessageToHide(new ClassAndMessage[] {
-                anno
-        });
+        SuppressionPolicy policy = SuppressionPolicy.builder().hideClassAndMessages(new ClassAndMessage[] {anno}).build();
         IllegalStateException exception = new IllegalStateException("aaabbbccc");
 
-        Exception result = (Exception) LoggerAdapterRepository.getInstance().sanitize(exception);
+        Exception result = (Exception) LoggerAdapterRepository.getInstance().sanitize(exception, policy);
 
         assertSame(exception, result);
     }
 
     @Test
     public void sanitizeExceptionMatchesMessage() {
-        LoggerAdapterRepository.getInstance().setExceptionMessagesToHide(new String[] {"aaabbbccc"});
+        SuppressionPolicy policy = SuppressionPolicy.builder().hideMessages(new String[] {"aaabbbccc"}).build();
         IllegalArgumentException exception = new IllegalArgumentException("aaabbbccc");
 
-        String result = (String) LoggerAdapterRepository.getInstance().sanitize(exception);
+        String result = (String) LoggerAdapterRepository.getInstance().sanitize(exception, policy);
 
         assertEquals("java.lang.IllegalArgumentException is hidden by message:aaabbbccc", result);
     }
 
     @Test
     public void sanitizeExceptionDoesNotMatchMessage() {
-        LoggerAdapterRepository.getInstance().setExceptionMessagesToHide(new String[] {"aaabbbccc"});
+        SuppressionPolicy policy = SuppressionPolicy.builder().hideMessages(new String[] {"aaabbbccc"}).build();
         IllegalArgumentException exception = new IllegalArgumentException("abc");
 
-        Exception result = (Exception) LoggerAdapterRepository.getInstance().sanitize(exception);
+        Exception result = (Exception) LoggerAdapterRepository.getInstance().sanitize(exception, policy);
 
         assertSame(exception, result);
     }
 
     @Test
     public void getSanitizedCopyExceptionMatchesMessage() {
-        LoggerAdapterRepository.getInstance().setExceptionMessagesToHide(new String[] {"aaabbbccc"});
+        SuppressionPolicy policy = SuppressionPolicy.builder().hideMessages(new String[] {"aaabbbccc"}).build();
         IllegalArgumentException exception = new IllegalArgumentException("aaabbbccc");
 
         Object[] result = LoggerAdapterRepository.getInstance().getSanitizedCopy(new Object[] {
                 "start", exception, "end"
-        });
+        }, policy);
 
         assertEquals(3, result.length);
         assertEquals("start", result[0]);
@@ -207,8 +228,57 @@ public class LoggerAdapterRepositoryTest {
 
     @Test
     public void getSanitizedCopyNull() {
-        Object[] result = LoggerAdapterRepository.getInstance().getSanitizedCopy(null);
+        Object[] result = LoggerAdapterRepository.getInstance().getSanitizedCopy(null, SuppressionPolicy.EMPTY);
 
         assertNull(result);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void getSanitizedCopyReturnsSameArrayIfNothingIsHidden() {
+        SuppressionPolicy policy = SuppressionPolicy.builder().hideMessages(new String[] {"aaabbbccc"}).build();
+        Object[] arguments = {"start", new IllegalArgumentException("abc"), 1};
+
+        Object[] result = LoggerAdapterRepository.getInstance().getSanitizedCopy(arguments, policy);
+
+        assertSame(arguments, result);
+    }
+
+    @Test
+    public void getSanitizedCopyDoesNotChangeArguments() {
+        SuppressionPolicy policy = SuppressionPolicy.builder().hideMessages(new String[] {"aaabbbccc"}).build();
+        IllegalArgumentException exception = new IllegalArgumentException("aaabbbccc");
+        Object[] arguments = {"start", exception};
+
+        Object[] result = LoggerAdapterRepository.getInstance().getSanitizedCopy(arguments, policy);
+
+        assertNotSame(arguments, result);
+        assertSame(exception, arguments[1]);
+    }
+
+    @Test
+    public void getSanitizedCopyDoesNotAllocate() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threadBean.isThreadAllocatedMemorySupported() && threadBean.isThreadAllocatedMemoryEnabled());
+        SuppressionPolicy policy = SuppressionPolicy.builder()
+                .hideClasses(new Class[] {IllegalStateException.class})
+                .hideMessages(new String[] {"aaabbbccc"})
+                .build();
+        LoggerAdapterRepository repository = LoggerAdapterRepository.getInstance();
+        Object[] arguments = {"start", 1, new IllegalArgumentException("abc"), new Object()};
+        int calls = 100_000;
+        for (int i = 0; i < calls; i++) {
+            repository.getSanitizedCopy(arguments, policy);
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < calls; i++) {
+            repository.getSanitizedCopy(arguments, policy);
+        }
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+
+        assertEquals(0, allocated / calls, "bytes allocated per call, total: " + allocated);
+    }
+}
@@ -1,18 +1,13 @@
 package com.nikondsl.jupiter.logging.adapters;
 
-import com.nikondsl.jupiter.logging.annotations.ClassAndMessage;
+import com.nikondsl.jupiter.logging.policy.SuppressionPolicy;
 
-import java.lang.reflect.Field;
 import java.util.Arrays;
-import java.util.concurrent.atomic.AtomicBoolean;
 
 public class SimpleLoggerAdapter implements LoggingSupported {
     private Object logger = null;
     private LoggerAdapterRepository delegate;
-    private Class[] classesValues = null;
-    private String[] stringValues = null;
-    private ClassAndMessage[] values = null;
-    private AtomicBoolean suspendLogging = new AtomicBoolean();
+    private SuppressionPolicy policy = SuppressionPolicy.EMPTY;
 
     public SimpleLoggerAdapter(Object logger, LoggerAdapterRepository delegate) {
         this.logger = logger;
@@ -25,23 +20,8 @@ public class SimpleLoggerAdapter implements LoggingSupported {
     }
 
     @Override
-    public void setExceptionClassesToHide(Class[] values) {
-        this.classesValues = values;
-    }
-
-    @Override
-    public void setExceptionMessagesToHide(String[] values) {
-        this.stringValues = values;
-    }
-
-    @Override
-    public void setExceptionClassAndMessageToHide(ClassAndMessage[] values) {
-        this.values = values;
-    }
-
-    @Override
-    public void setSuspendLogging(AtomicBoolean suspendLogging) {
-        this.suspendLogging = suspendLogging;
+    public void setSuppressionPolicy(SuppressionPolicy policy) {
+        this.policy = policy;
     }
 
     @Override
@@ -56,9 +36,4 @@ public class SimpleLoggerAdapter implements LoggingSupported {
     public Object[] getSanitizedCopy(Object[] arguments) {
         return Arrays.copyOf(arguments, arguments.length);
     }
-
-    @Override
-    public void unwrap(Field field, Object key) throws ReflectiveOperationException {
-        field.set(key, logger);
-    }
 }
@@ -0,0 +1,146 @@
+package com.nikondsl.jupiter.logging.adapters.impl;
+
+import com.nikondsl.jupiter.logging.adapters.LoggerAdapterRepository;
+import com.nikondsl.jupiter.logging.policy.HiddenException;
+import com.nikondsl.jupiter.logging.policy.SuppressionPolicy;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.apache.logging.log4j.spi.ExtendedLogger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class Log4j2LoggerAdaptorTest {
+    private static final String LOGGER_NAME = Log4j2LoggerAdaptorTest.class.getName();
+
+    private final AtomicInteger supplierCalls = new AtomicInteger();
+    private Log4j2LoggerAdaptor adaptor;
+
+    private void createAdaptor(Level level) {
+        Configurator.setLevel(LOGGER_NAME, level);
+        adaptor = new Log4j2LoggerAdaptor(LogManager.getLogger(LOGGER_NAME), LoggerAdapterRepository.getInstance());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        Configurator.setLevel(LOGGER_NAME, Level.ERROR);
+    }
+
+    private String message() {
+        supplierCalls.incrementAndGet();
+        return "expensive";
+    }
+
+    private void logWithAllSuppliers() {
+        adaptor.debug("some {}", () -> message());
+        adaptor.debug(() -> message());
+        adaptor.debug(() -> message(), new IllegalArgumentException("abc"));
+        adaptor.debug(() -> new SimpleMessage(message()));
+        adaptor.debug(() -> new SimpleMessage(message()), new IllegalArgumentException("abc"));
+    }
+
+    @Test
+    public void suspendedAdaptorDoesNotCallSuppliers() {
+        createAdaptor(Level.DEBUG);
+        adaptor.setSuppressionPolicy(SuppressionPolicy.SUSPENDED);
+
+        logWithAllSuppliers();
+
+        assertEquals(0, supplierCalls.get());
+    }
+
+    @Test
+    public void disabledLevelDoesNotCallSuppliers() {
+        createAdaptor(Level.ERROR);
+
+        logWithAllSuppliers();
+
+        assertEquals(0, supplierCalls.get());
+    }
+
+    @Test
+    public void suppliersAreCalledOnceWhenHidingThrowable() {
+        createAdaptor(Level.DEBUG);
+        adaptor.setSuppressionPolicy(SuppressionPolicy.builder()
+                .hideClasses(new Class[] {IllegalArgumentException.class})
+                .build());
+
+        logWithAllSuppliers();
+
+        assertEquals(5, supplierCalls.get());
+    }
+
+    @Test
+    public void isNotEnabledWhenSuspended() {
+        createAdaptor(Level.DEBUG);
+        adaptor.setSuppressionPolicy(SuppressionPolicy.SUSPENDED);
+
+        assertFalse(adaptor.isDebugEnabled());
+        assertFalse(adaptor.isEnabled(Level.ERROR));
+    }
+
+    @Test
+    public void followsLevelOfWrappedLogger() {
+        createAdaptor(Level.ERROR);
+
+        assertFalse(adaptor.isDebugEnabled());
+        Configurator.setLevel(LOGGER_NAME, Level.DEBUG);
+        assertTrue(adaptor.isDebugEnabled());
+        assertEquals(LOGGER_NAME, adaptor.getName());
+    }
+
+    @Test
+    public void passesOriginalMessageWithSubstitutedThrowable() {
+        ExtendedLogger wrapped = mock(ExtendedLogger.class);
+        when(wrapped.isEnabled(any(Level.class), any(), any(Message.class), any())).thenReturn(true);
+        adaptor = new Log4j2LoggerAdaptor(wrapped, LoggerAdapterRepository.getInstance());
+        adaptor.setSuppressionPolicy(SuppressionPolicy.builder()
+                .hideClasses(new Class[] {IllegalArgumentException.class})
+                .substituteThrowables(true)
+                .build());
+        Message message = new SimpleMessage("message");
+
+        adaptor.error(message, new IllegalArgumentException("abc"));
+
+        verify(wrapped).logMessage(anyString(), eq(Level.ERROR), isNull(), same(message),
+                argThat(t -> t instanceof HiddenException &&
+                        "java.lang.IllegalArgumentException is hidden by class".equals(t.getMessage())));
+    }
+
+    @Test
+    public void appendsReplacementAfterSpace() {
+        ExtendedLogger wrapped = mock(ExtendedLogger.class);
+        when(wrapped.isEnabled(any(Level.class), any(), any(String.class), any(Throwable.class))).thenReturn(true);
+        when(wrapped.isEnabled(any(Level.class), any(), (Message) any(), any(Throwable.class))).thenReturn(true);
+        adaptor = new Log4j2LoggerAdaptor(wrapped, LoggerAdapterRepository.getInstance());
+        adaptor.setSuppressionPolicy(SuppressionPolicy.builder()
+                .hideClasses(new Class[] {IllegalArgumentException.class})
+                .build());
+
+        adaptor.error("message", new IllegalArgumentException("abc"));
+        adaptor.error((Message) null, new IllegalArgumentException("abc"));
+
+        verify(wrapped).logIfEnabled(anyString(), eq(Level.ERROR), isNull(),
+                eq("message java.lang.IllegalArgumentException is hidden by class"));
+        verify(wrapped).logMessage(anyString(), eq(Level.ERROR), isNull(),
+                argThat(m -> "java.lang.IllegalArgumentException is hidden by class".equals(m.getFormattedMessage())),
+                isNull());
+    }
+}
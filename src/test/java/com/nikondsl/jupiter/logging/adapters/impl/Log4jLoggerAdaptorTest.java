@@ -0,0 +1,54 @@
+package com.nikondsl.jupiter.logging.adapters.impl;
+
+import com.nikondsl.jupiter.logging.adapters.LoggerAdapterRepository;
+import com.nikondsl.jupiter.logging.policy.SuppressionPolicy;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class Log4jLoggerAdaptorTest {
+    private Logger logger;
+    private Log4jLoggerAdaptor adaptor;
+
+    @BeforeEach
+    public void setUp() {
+        logger = Logger.getLogger(Log4jLoggerAdaptorTest.class);
+        logger.setLevel(Level.WARN);
+        adaptor = new Log4jLoggerAdaptor(logger, LoggerAdapterRepository.getInstance());
+        adaptor.setSuppressionPolicy(SuppressionPolicy.builder()
+                .hideMessages(new String[] {"counted"})
+                .build());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        logger.setLevel(null);
+    }
+
+    @Test
+    public void doesNotSanitizeForDisabledLevels() {
+        Slf4JLoggerAdaptorTest.CountingException exception = new Slf4JLoggerAdaptorTest.CountingException();
+
+        adaptor.trace("message", exception);
+        adaptor.debug("message", exception);
+        adaptor.info("message", exception);
+        adaptor.log(Level.DEBUG, "message", exception);
+        adaptor.l7dlog(Level.INFO, "key", exception);
+
+        assertEquals(0, exception.messageCalls);
+    }
+
+    @Test
+    public void sanitizesForEnabledLevels() {
+        Slf4JLoggerAdaptorTest.CountingException exception = new Slf4JLoggerAdaptorTest.CountingException();
+
+        adaptor.warn("message", exception);
+        adaptor.error("message", exception);
+
+        assertEquals(2, exception.messageCalls);
+    }
+}
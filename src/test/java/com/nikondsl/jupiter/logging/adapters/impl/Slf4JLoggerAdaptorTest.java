@@ -0,0 +1,55 @@
+package com.nikondsl.jupiter.logging.adapters.impl;
+
+import com.nikondsl.jupiter.logging.adapters.LoggerAdapterRepository;
+import com.nikondsl.jupiter.logging.policy.SuppressionPolicy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MarkerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class Slf4JLoggerAdaptorTest {
+    private Slf4JLoggerAdaptor adaptor;
+
+    static class CountingException extends IllegalStateException {
+        int messageCalls = 0;
+
+        @Override
+        public String getMessage() {
+            messageCalls++;
+            return "counted";
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        // the default configuration logs errors only
+        adaptor = new Slf4JLoggerAdaptor(LoggerFactory.getLogger(Slf4JLoggerAdaptorTest.class), LoggerAdapterRepository.getInstance());
+        adaptor.setSuppressionPolicy(SuppressionPolicy.builder()
+                .hideMessages(new String[] {"counted"})
+                .build());
+    }
+
+    @Test
+    public void doesNotSanitizeForDisabledLevels() {
+        CountingException exception = new CountingException();
+
+        adaptor.debug("message", exception);
+        adaptor.info("message {}", exception);
+        adaptor.warn("message {} {}", "first", exception);
+        adaptor.info(MarkerFactory.getMarker("marker"), "message {} {} {}", "first", "second", exception);
+        adaptor.warn(MarkerFactory.getMarker("marker"), "message", exception);
+
+        assertEquals(0, exception.messageCalls);
+    }
+
+    @Test
+    public void sanitizesForEnabledLevel() {
+        CountingException exception = new CountingException();
+
+        adaptor.error("message", exception);
+
+        assertEquals(1, exception.messageCalls);
+    }
+}
@@ -0,0 +1,104 @@
+package com.nikondsl.jupiter.logging.benchmark;
+
+import com.nikondsl.jupiter.logging.adapters.LoggerAdapterRepository;
+import com.nikondsl.jupiter.logging.adapters.impl.Log4j2LoggerAdaptor;
+import com.nikondsl.jupiter.logging.policy.ReplacementStyle;
+import com.nikondsl.jupiter.logging.policy.SuppressionPolicy;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.apache.logging.log4j.core.config.builder.api.ConfigurationBuilder;
+import org.apache.logging.log4j.core.config.builder.api.ConfigurationBuilderFactory;
+import org.apache.logging.log4j.core.config.builder.impl.BuiltConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logs through AsyncLogger (garbage-free mode) directly and through the wrapper. Compare gc.alloc.rate.norm:
+ * a wrapper which does not hide anything or substitutes throwables is expected to add nothing to the direct call,
+ * appending the replacement text allocates on every event.
+ * Run with 'mvn -P benchmark verify -Dbenchmark=AsyncLoggingBenchmark' (the gc profiler is on by default).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {
+        "-Dlog4j2.contextSelector=org.apache.logging.log4j.core.async.AsyncLoggerContextSelector",
+        "-Dlog4j2.enableThreadlocals=true",
+        "-Dlog4j2.enableDirectEncoders=true"})
+@State(Scope.Benchmark)
+public class AsyncLoggingBenchmark {
+
+    private final IllegalArgumentException exception = new IllegalArgumentException("seconds (-1) cannot be 0 or negative");
+
+    private LoggerContext context;
+    private Logger logger;
+    private Log4j2LoggerAdaptor notHiding;
+    private Log4j2LoggerAdaptor hidingByText;
+    private Log4j2LoggerAdaptor hidingBySubstitute;
+
+    @Setup
+    public void setUp() {
+        ConfigurationBuilder<BuiltConfiguration> builder = ConfigurationBuilderFactory.newConfigurationBuilder();
+        builder.add(builder.newAppender("null", "Null"));
+        builder.add(builder.newRootLogger(Level.INFO).add(builder.newAppenderRef("null")));
+        context = Configurator.initialize(builder.build());
+        logger = context.getLogger(AsyncLoggingBenchmark.class.getName());
+
+        notHiding = createAdaptor(SuppressionPolicy.builder()
+                .hideClasses(new Class[] {NullPointerException.class})
+                .build());
+        hidingByText = createAdaptor(SuppressionPolicy.builder()
+                .hideClasses(new Class[] {IllegalArgumentException.class})
+                .build());
+        hidingBySubstitute = createAdaptor(SuppressionPolicy.builder()
+                .hideClasses(new Class[] {IllegalArgumentException.class})
+                .replacementStyle(ReplacementStyle.CLASS_ONLY)
+                .substituteThrowables(true)
+                .build());
+    }
+
+    private Log4j2LoggerAdaptor createAdaptor(SuppressionPolicy policy) {
+        Log4j2LoggerAdaptor adaptor = new Log4j2LoggerAdaptor(logger, LoggerAdapterRepository.getInstance());
+        adaptor.setSuppressionPolicy(policy);
+        return adaptor;
+    }
+
+    @TearDown
+    public void tearDown() {
+        Configurator.shutdown(context);
+    }
+
+    @Benchmark
+    public void direct() {
+        logger.error("Cannot convert", exception);
+    }
+
+    @Benchmark
+    public void wrappedNotHidden() {
+        notHiding.error("Cannot convert", exception);
+    }
+
+    @Benchmark
+    public void wrappedHiddenByText() {
+        hidingByText.error("Cannot convert", exception);
+    }
+
+    @Benchmark
+    public void wrappedHiddenBySubstitute() {
+        hidingBySubstitute.error("Cannot convert", exception);
+    }
+}
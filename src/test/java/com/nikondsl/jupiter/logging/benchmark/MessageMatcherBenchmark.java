@@ -0,0 +1,61 @@
+package com.nikondsl.jupiter.logging.benchmark;
+
+import com.nikondsl.jupiter.logging.policy.AhoCorasickMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the old stream based 'contains' scan with the compiled automaton for a growing number
+ * of message patterns. The automaton is expected to stay flat.
+ * Run with 'mvn -P benchmark verify -Dbenchmark=MessageMatcherBenchmark'.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MessageMatcherBenchmark {
+
+    @Param({"1", "10", "50", "200"})
+    private int patternCount;
+
+    private Set<String> patterns;
+    private AhoCorasickMatcher matcher;
+    private String message;
+
+    @Setup
+    public void setUp() {
+        patterns = new HashSet<>();
+        for (int i = 0; i < patternCount; i++) {
+            patterns.add("unexpected failure #" + i + " in module");
+        }
+        matcher = AhoCorasickMatcher.compile(patterns.toArray(new String[0]));
+        message = "seconds (-1) cannot be 0 or negative, see the previous failure in module for details";
+    }
+
+    @Benchmark
+    public boolean streamContains() {
+        return patterns
+                .stream()
+                .anyMatch(pattern -> message.contains(pattern));
+    }
+
+    @Benchmark
+    public boolean automaton() {
+        return matcher.matches(message);
+    }
+}
@@ -0,0 +1,93 @@
+package com.nikondsl.jupiter.logging.benchmark;
+
+import com.nikondsl.jupiter.logging.adapters.LoggerAdapterRepository;
+import com.nikondsl.jupiter.logging.adapters.impl.Log4j2LoggerAdaptor;
+import com.nikondsl.jupiter.logging.adapters.impl.Log4jLoggerAdaptor;
+import com.nikondsl.jupiter.logging.adapters.impl.Slf4JLoggerAdaptor;
+import com.nikondsl.jupiter.logging.policy.SuppressionPolicy;
+import org.apache.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares error(message, throwable) on a suspended adaptor with the same call on a logger which has
+ * the level disabled. Both are expected to cost a few nanoseconds.
+ * Run with 'mvn -P benchmark verify -Dbenchmark=SuspendedLoggingBenchmark'.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SuspendedLoggingBenchmark {
+
+    private final IllegalArgumentException exception = new IllegalArgumentException("seconds (-1) cannot be 0 or negative");
+
+    private org.slf4j.Logger slf4jLogger;
+    private Slf4JLoggerAdaptor slf4jAdaptor;
+    private org.apache.log4j.Logger log4jLogger;
+    private Log4jLoggerAdaptor log4jAdaptor;
+    private org.apache.logging.log4j.core.Logger log4j2Logger;
+    private Log4j2LoggerAdaptor log4j2Adaptor;
+
+    @Setup
+    public void setUp() {
+        LoggerAdapterRepository repository = LoggerAdapterRepository.getInstance();
+        // default configurations log errors only
+        slf4jLogger = LoggerFactory.getLogger(SuspendedLoggingBenchmark.class);
+        slf4jAdaptor = new Slf4JLoggerAdaptor(slf4jLogger, repository);
+        slf4jAdaptor.setSuppressionPolicy(SuppressionPolicy.SUSPENDED);
+
+        log4jLogger = org.apache.log4j.Logger.getLogger(SuspendedLoggingBenchmark.class);
+        log4jLogger.setLevel(Level.ERROR);
+        log4jAdaptor = new Log4jLoggerAdaptor(log4jLogger, repository);
+        log4jAdaptor.setSuppressionPolicy(SuppressionPolicy.SUSPENDED);
+
+        log4j2Logger = (org.apache.logging.log4j.core.Logger) LogManager.getLogger(SuspendedLoggingBenchmark.class);
+        log4j2Adaptor = new Log4j2LoggerAdaptor(log4j2Logger, repository);
+        log4j2Adaptor.setSuppressionPolicy(SuppressionPolicy.SUSPENDED);
+    }
+
+    @Benchmark
+    public void slf4jDisabledLevel() {
+        slf4jLogger.debug("Cannot convert", exception);
+    }
+
+    @Benchmark
+    public void slf4jSuspended() {
+        slf4jAdaptor.error("Cannot convert", exception);
+    }
+
+    @Benchmark
+    public void log4jDisabledLevel() {
+        log4jLogger.debug("Cannot convert", exception);
+    }
+
+    @Benchmark
+    public void log4jSuspended() {
+        log4jAdaptor.error("Cannot convert", exception);
+    }
+
+    @Benchmark
+    public void log4j2DisabledLevel() {
+        log4j2Logger.debug("Cannot convert", exception);
+    }
+
+    @Benchmark
+    public void log4j2Suspended() {
+        log4j2Adaptor.error("Cannot convert", exception);
+    }
+}
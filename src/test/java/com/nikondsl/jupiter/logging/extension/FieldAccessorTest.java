@@ -0,0 +1,52 @@
+package com.nikondsl.jupiter.logging.extension;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class FieldAccessorTest {
+
+    private static class Holder {
+        private static final CharSequence STATIC_FINAL = new StringBuilder("static final");
+        private static CharSequence staticField = "static";
+        private final CharSequence finalField = new StringBuilder("final");
+        private CharSequence field = "field";
+    }
+
+    private static void swapAndRevert(String name, Object target) throws Exception {
+        Field field = Holder.class.getDeclaredField(name);
+        FieldAccessor accessor = FieldAccessor.of(field);
+        Object original = accessor.get(target);
+
+        accessor.set(target, "replaced");
+        assertEquals("replaced", accessor.get(target));
+
+        accessor.set(target, original);
+        assertSame(original, accessor.get(target));
+    }
+
+    @Test
+    public void swapsFields() throws Exception {
+        swapAndRevert("staticField", null);
+        swapAndRevert("field", new Holder());
+    }
+
+    @Test
+    public void rejectsFinalFields() {
+        assertThrows(IllegalAccessException.class,
+                () -> FieldAccessor.of(Holder.class.getDeclaredField("finalField")));
+        assertThrows(IllegalAccessException.class,
+                () -> FieldAccessor.of(Holder.class.getDeclaredField("STATIC_FINAL")));
+    }
+
+    @Test
+    public void checksTypeOfField() throws Exception {
+        FieldAccessor accessor = FieldAccessor.of(Holder.class.getDeclaredField("staticField"));
+
+        assertThrows(ClassCastException.class, () -> accessor.set(null, 1));
+    }
+}
@@ -0,0 +1,74 @@
+package com.nikondsl.jupiter.logging.extension;
+
+import com.nikondsl.jupiter.logging.adapters.LoggerAdapterRepository;
+import com.nikondsl.jupiter.logging.adapters.SimpleLoggerAdapter;
+import com.nikondsl.jupiter.logging.annotations.HideByExceptionClass;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Field;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class FieldCacheTest {
+
+    private static class WithLoggers {
+        private static final Logger STATIC_FINAL_LOG = LoggerFactory.getLogger(WithLoggers.class);
+        private static Logger STATIC_LOG = LoggerFactory.getLogger(WithLoggers.class);
+        private final Logger finalLog = LoggerFactory.getLogger(WithLoggers.class);
+        private Logger log = LoggerFactory.getLogger(WithLoggers.class);
+        private int primitive;
+        private String text;
+        private Logger[] array;
+    }
+
+    private static class WithCustomLogger {
+        private SimpleLoggerAdapter logger;
+    }
+
+    private static class AnnotatedTest {
+        @HideByExceptionClass
+        private WithLoggers annotated;
+        private WithLoggers notAnnotated;
+    }
+
+    @Test
+    public void findsOnlyLoggerFields() throws Exception {
+        Field[] fields = FieldCache.getLoggerFields(WithLoggers.class, false);
+
+        assertEquals(2, fields.length);
+        // private fields of a private class, readable only if made accessible
+        WithLoggers instance = new WithLoggers();
+        for (Field field : fields) {
+            assertNotNull(field.get(instance));
+        }
+        assertSame(fields, FieldCache.getLoggerFields(WithLoggers.class, false));
+        Field[] staticFields = FieldCache.getLoggerFields(WithLoggers.class, true);
+        assertEquals(1, staticFields.length);
+        assertEquals("STATIC_LOG", staticFields[0].getName());
+    }
+
+    @Test
+    public void findsAnnotatedFields() {
+        Field[] fields = FieldCache.getAnnotatedFields(AnnotatedTest.class);
+
+        assertEquals(1, fields.length);
+        assertEquals("annotated", fields[0].getName());
+        assertEquals(2, FieldCache.getDeclaredFields(AnnotatedTest.class).length);
+    }
+
+    @Test
+    public void followsRegisteredFactories() {
+        Field[] before = FieldCache.getLoggerFields(WithCustomLogger.class, false);
+
+        LoggerAdapterRepository.addToRegisteredAdaptors(new SimpleLoggerAdapter(null, LoggerAdapterRepository.getInstance()));
+
+        Field[] after = FieldCache.getLoggerFields(WithCustomLogger.class, false);
+        assertNotSame(before, after);
+        assertEquals(1, after.length);
+    }
+}
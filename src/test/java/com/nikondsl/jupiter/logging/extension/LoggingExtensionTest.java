@@ -2,11 +2,15 @@ package com.nikondsl.jupiter.logging.extension;
 
 import com.nikondsl.jupiter.logging.adapters.LoggerAdapterRepository;
 import com.nikondsl.jupiter.logging.adapters.SimpleLoggerAdapter;
+import com.nikondsl.jupiter.logging.annotations.MatchType;
+import org.apache.logging.log4j.LogManager;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.lang.reflect.Field;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -31,6 +35,10 @@ public class LoggingExtensionTest {
                 new SimpleLoggerAdapter(null, LoggerAdapterRepository.getInstance());
     }
 
+    private static class InnerWithCoreLogger {
+        org.apache.logging.log4j.core.Logger logger =
+                (org.apache.logging.log4j.core.Logger) LogManager.getLogger(InnerWithCoreLogger.class);
+    }
 
     @Test
     public void lookForAndReplaceLogger() throws Exception {
@@ -43,4 +51,34 @@ public class LoggingExtensionTest {
 
         assertTrue(extension.lookForAndReplaceLogger(null, innerWithLogger));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void skipsFieldWhichCannotHoldAdaptor() throws Exception {
+        LoggingExtension plain = new LoggingExtension();
+        LoggingExtension.TestClassState state = new LoggingExtension.TestClassState(false);
+        InnerWithCoreLogger holder = new InnerWithCoreLogger();
+        org.apache.logging.log4j.core.Logger original = holder.logger;
+        Field field = InnerWithCoreLogger.class.getDeclaredField("logger");
+
+        assertFalse(plain.lookForAndReplaceLogger(new LoggingExtension.ExtensionParams(
+                new Class[] {IllegalArgumentException.class}, null, MatchType.CONTAINS, null, state), holder));
+        assertSame(original, holder.logger);
+        assertFalse(plain.wrapLogger(null, holder, field, original));
+
+        plain.revert(state);
+    }
+
+    @Test
+    public void compilesPolicyOncePerElement() throws Exception {
+        LoggingExtension plain = new LoggingExtension();
+        LoggingExtension.TestClassState state = new LoggingExtension.TestClassState(false);
+        Field field = LoggingExtensionTest.class.getDeclaredField("innerWithLogger");
+
+        assertSame(plain.createParams(field, state), plain.createParams(field, state));
+        assertSame(plain.createParams(LoggingExtensionTest.class, state),
+                plain.createParams(LoggingExtensionTest.class, state));
+        assertNotSame(plain.createParams(field, state), plain.createParams(LoggingExtensionTest.class, state));
+
+        plain.revert(state);
+    }
+}
@@ -0,0 +1,77 @@
+package com.nikondsl.jupiter.logging.extension;
+
+import com.nikondsl.jupiter.logging.adapters.LoggingSupported;
+import com.nikondsl.jupiter.logging.annotations.HideByExceptionClass;
+import com.nikondsl.jupiter.logging.annotations.HideByExceptionMessage;
+import com.nikondsl.jupiter.logging.annotations.UseLog4j2Filter;
+import com.nikondsl.jupiter.logging.policy.SuppressionPolicy;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(LoggingExtension.class)
+@UseLog4j2Filter
+public class MethodRulesTest {
+    private static final org.apache.logging.log4j.core.Logger LOG4J2 =
+            (org.apache.logging.log4j.core.Logger) LogManager.getLogger(MethodRulesTest.class);
+
+    static class Collaborator {
+        private Logger logger = LoggerFactory.getLogger(Collaborator.class);
+    }
+
+    @HideByExceptionClass(IllegalArgumentException.class)
+    private Collaborator collaborator = new Collaborator();
+
+    private Object sanitize(Exception exception) {
+        return ((LoggingSupported) collaborator.logger).sanitize(exception);
+    }
+
+    @Test
+    public void usesRulesOfFieldOnly() {
+        IllegalStateException exception = new IllegalStateException("expected here");
+
+        assertEquals("java.lang.IllegalArgumentException is hidden by class",
+                sanitize(new IllegalArgumentException("abc")));
+        assertSame(exception, sanitize(exception));
+        assertTrue(LOG4J2.isEnabled(Level.ERROR, null, "message", exception));
+    }
+
+    @Test
+    @HideByExceptionMessage("expected here")
+    public void addsRulesOfMethod() {
+        assertEquals("java.lang.IllegalArgumentException is hidden by class",
+                sanitize(new IllegalArgumentException("abc")));
+        assertEquals("java.lang.IllegalStateException is hidden by message:expected here",
+                sanitize(new IllegalStateException("expected here")));
+    }
+
+    @Test
+    @HideByExceptionMessage("expected here")
+    public void addsRulesOfMethodToFilters() {
+        assertFalse(LOG4J2.isEnabled(Level.ERROR, null, "message", new IllegalStateException("expected here")));
+        assertTrue(LOG4J2.isEnabled(Level.ERROR, null, "message", new IllegalStateException("abc")));
+    }
+
+    @Test
+    public void combinesPoliciesOnce() {
+        LoggingExtension.MethodRules rules = new LoggingExtension.MethodRules(SuppressionPolicy.builder()
+                .hideMessages(new String[] {"expected here"})
+                .build());
+        SuppressionPolicy classPolicy = SuppressionPolicy.builder()
+                .hideClasses(new Class[] {IllegalArgumentException.class})
+                .build();
+
+        SuppressionPolicy combined = rules.combineWith(classPolicy);
+        assertSame(combined, rules.combineWith(classPolicy));
+        assertNotSame(combined, rules.combineWith(SuppressionPolicy.EMPTY));
+    }
+}
@@ -0,0 +1,99 @@
+package com.nikondsl.jupiter.logging.extension;
+
+import com.nikondsl.jupiter.logging.adapters.LoggingSupported;
+import com.nikondsl.jupiter.logging.annotations.MatchType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Field;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StickyWrappersTest {
+    private final LoggingExtension extension = new LoggingExtension();
+
+    private static class WithLogger {
+        private Logger logger = LoggerFactory.getLogger(WithLogger.class);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        LoggingExtension.setStickyWrappers(false);
+    }
+
+    private static LoggingExtension.ExtensionParams hide(Class<? extends Throwable> hidden,
+                                                         LoggingExtension.TestClassState state) {
+        return new LoggingExtension.ExtensionParams(new Class[] {hidden}, null, MatchType.CONTAINS, null, state);
+    }
+
+    private void wrap(WithLogger holder, LoggingExtension.ExtensionParams params) throws Exception {
+        Field field = WithLogger.class.getDeclaredField("logger");
+        field.setAccessible(true);
+        extension.wrapLogger(params, holder, field, field.get(holder));
+    }
+
+    @Test
+    public void wrapsOnceAndSwitchesPolicies() throws Exception {
+        LoggingExtension.setStickyWrappers(true);
+        WithLogger holder = new WithLogger();
+        IllegalArgumentException illegalArgument = new IllegalArgumentException("abc");
+        IllegalStateException illegalState = new IllegalStateException("abc");
+
+        LoggingExtension.TestClassState first = new LoggingExtension.TestClassState(false);
+        wrap(holder, hide(IllegalArgumentException.class, first));
+        assertTrue(holder.logger instanceof LoggingSupported);
+        LoggingSupported wrapper = (LoggingSupported) holder.logger;
+        assertEquals("java.lang.IllegalArgumentException is hidden by class", wrapper.sanitize(illegalArgument));
+
+        extension.revert(first);
+        assertSame(wrapper, holder.logger);
+        assertSame(illegalArgument, wrapper.sanitize(illegalArgument));
+
+        LoggingExtension.TestClassState second = new LoggingExtension.TestClassState(false);
+        wrap(holder, hide(IllegalStateException.class, second));
+        assertSame(wrapper, holder.logger);
+        assertSame(illegalArgument, wrapper.sanitize(illegalArgument));
+        assertEquals("java.lang.IllegalStateException is hidden by class", wrapper.sanitize(illegalState));
+        extension.revert(second);
+    }
+
+    @Test
+    public void revertsWrappersWhenNotSticky() throws Exception {
+        WithLogger holder = new WithLogger();
+        Logger original = holder.logger;
+
+        LoggingExtension.TestClassState state = new LoggingExtension.TestClassState(false);
+        wrap(holder, hide(IllegalArgumentException.class, state));
+        assertTrue(holder.logger instanceof LoggingSupported);
+
+        extension.revert(state);
+        assertSame(original, holder.logger);
+    }
+
+    @Test
+    public void keepsPolicyOfEachClassUsingSharedWrapper() throws Exception {
+        LoggingExtension.setStickyWrappers(true);
+        WithLogger holder = new WithLogger();
+        IllegalArgumentException illegalArgument = new IllegalArgumentException("abc");
+        IllegalStateException illegalState = new IllegalStateException("abc");
+
+        LoggingExtension.TestClassState first = new LoggingExtension.TestClassState(false);
+        LoggingExtension.TestClassState second = new LoggingExtension.TestClassState(false);
+        wrap(holder, hide(IllegalArgumentException.class, first));
+        wrap(holder, hide(IllegalStateException.class, second));
+        LoggingSupported wrapper = (LoggingSupported) holder.logger;
+        assertEquals("java.lang.IllegalArgumentException is hidden by class", wrapper.sanitize(illegalArgument));
+        assertEquals("java.lang.IllegalStateException is hidden by class", wrapper.sanitize(illegalState));
+
+        extension.revert(first);
+        assertSame(illegalArgument, wrapper.sanitize(illegalArgument));
+        assertEquals("java.lang.IllegalStateException is hidden by class", wrapper.sanitize(illegalState));
+
+        extension.revert(second);
+        assertSame(illegalState, wrapper.sanitize(illegalState));
+    }
+}
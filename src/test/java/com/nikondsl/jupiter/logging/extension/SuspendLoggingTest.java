@@ -0,0 +1,38 @@
+package com.nikondsl.jupiter.logging.extension;
+
+import com.nikondsl.jupiter.logging.adapters.LoggingSupported;
+import com.nikondsl.jupiter.logging.annotations.SuspendLogging;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@ExtendWith(LoggingExtension.class)
+@SuspendLogging
+public class SuspendLoggingTest {
+
+    static class Collaborator {
+        private Logger logger = LoggerFactory.getLogger(Collaborator.class);
+    }
+
+    private Collaborator collaborator = new Collaborator();
+
+    @Test
+    public void suspendsLoggingOfAnnotatedClass() {
+        assertEquals("java.lang.IllegalArgumentException is suspended",
+                ((LoggingSupported) collaborator.logger).sanitize(new IllegalArgumentException("abc")));
+    }
+
+    @Test
+    public void doesNotChangeDefaultOfOtherClasses() throws Exception {
+        LoggingExtension extension = new LoggingExtension();
+        LoggingExtension.TestClassState state = new LoggingExtension.TestClassState(true);
+
+        extension.revert(state);
+
+        assertFalse(LoggingExtension.isSuspendLogging());
+    }
+}
@@ -0,0 +1,84 @@
+package com.nikondsl.jupiter.logging.filter;
+
+import com.nikondsl.jupiter.logging.policy.SuppressionPolicy;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.Logger;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class Log4j2SuppressionFilterTest {
+    private final Logger logger = (Logger) LogManager.getLogger(Log4j2SuppressionFilterTest.class);
+    private final Log4j2SuppressionFilter filter = new Log4j2SuppressionFilter(SuppressionPolicy.builder()
+            .hideClasses(new Class[] {IllegalArgumentException.class})
+            .build());
+
+    @AfterEach
+    public void tearDown() {
+        filter.uninstall();
+    }
+
+    @Test
+    public void deniesEventsWithHiddenThrowable() {
+        assertEquals(Filter.Result.DENY, filter.filter(Log4jLogEvent.newBuilder()
+                .setLevel(Level.ERROR)
+                .setThrown(new IllegalArgumentException("abc"))
+                .build()));
+        assertEquals(Filter.Result.NEUTRAL, filter.filter(Log4jLogEvent.newBuilder()
+                .setLevel(Level.ERROR)
+                .setThrown(new IllegalStateException("abc"))
+                .build()));
+        assertEquals(Filter.Result.NEUTRAL, filter.filter(Log4jLogEvent.newBuilder()
+                .setLevel(Level.ERROR)
+                .build()));
+    }
+
+    @Test
+    public void checksTrailingThrowableParameter() {
+        assertEquals(Filter.Result.DENY, filter.filter(logger, Level.ERROR, null, "value {}",
+                "x", new IllegalArgumentException("abc")));
+        assertEquals(Filter.Result.NEUTRAL, filter.filter(logger, Level.ERROR, null, "value {}",
+                new IllegalArgumentException("abc"), "x"));
+    }
+
+    @Test
+    public void suspendedPolicyDeniesEverything() {
+        Log4j2SuppressionFilter suspended = new Log4j2SuppressionFilter(SuppressionPolicy.SUSPENDED);
+
+        assertEquals(Filter.Result.DENY, suspended.filter(Log4jLogEvent.newBuilder()
+                .setLevel(Level.ERROR)
+                .build()));
+    }
+
+    @Test
+    public void isRemovedFromConfiguration() {
+        IllegalArgumentException exception = new IllegalArgumentException("abc");
+        assertTrue(logger.isEnabled(Level.ERROR, null, "message", exception));
+
+        assertTrue(filter.install());
+        assertFalse(logger.isEnabled(Level.ERROR, null, "message", exception));
+        assertTrue(logger.isEnabled(Level.ERROR, null, "message", new IllegalStateException("abc")));
+
+        filter.uninstall();
+        assertTrue(logger.isEnabled(Level.ERROR, null, "message", exception));
+    }
+
+    @Test
+    public void followsReconfiguration() {
+        IllegalArgumentException exception = new IllegalArgumentException("abc");
+        assertTrue(filter.install());
+
+        LoggerContext.getContext(false).reconfigure();
+        assertFalse(logger.isEnabled(Level.ERROR, null, "message", exception));
+
+        filter.uninstall();
+        assertTrue(logger.isEnabled(Level.ERROR, null, "message", exception));
+    }
+}
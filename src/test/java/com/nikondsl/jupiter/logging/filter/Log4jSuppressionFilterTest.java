@@ -0,0 +1,132 @@
+package com.nikondsl.jupiter.logging.filter;
+
+import com.nikondsl.jupiter.logging.policy.SuppressionPolicy;
+import org.apache.log4j.AppenderSkeleton;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.apache.log4j.spi.Filter;
+import org.apache.log4j.spi.LoggingEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class Log4jSuppressionFilterTest {
+    private static final Logger LOG = Logger.getLogger(Log4jSuppressionFilterTest.class);
+
+    private final Log4jSuppressionFilter filter = new Log4jSuppressionFilter(SuppressionPolicy.builder()
+            .hideClasses(new Class[] {IllegalArgumentException.class})
+            .build());
+    private final CollectingAppender appender = new CollectingAppender();
+    private final CollectingAppender other = new CollectingAppender();
+
+    private static class CollectingAppender extends AppenderSkeleton {
+        private final List<LoggingEvent> events = new ArrayList<>();
+
+        @Override
+        protected void append(LoggingEvent event) {
+            events.add(event);
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public boolean requiresLayout() {
+            return false;
+        }
+    }
+
+    private static class NeutralFilter extends Filter {
+        @Override
+        public int decide(LoggingEvent event) {
+            return NEUTRAL;
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        LOG.addAppender(appender);
+        LOG.addAppender(other);
+        LOG.setAdditivity(false);
+        LOG.setLevel(Level.ERROR);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        filter.uninstall();
+        LOG.removeAppender(appender);
+        LOG.removeAppender(other);
+        LOG.setAdditivity(true);
+        LOG.setLevel(null);
+    }
+
+    @Test
+    public void dropsEventsWithHiddenThrowable() {
+        assertTrue(filter.install());
+
+        LOG.error("hidden", new IllegalArgumentException("abc"));
+        LOG.error("logged", new IllegalStateException("abc"));
+        LOG.error("no throwable");
+
+        assertEquals(2, appender.events.size());
+        assertEquals("logged", appender.events.get(0).getMessage());
+        assertEquals("no throwable", appender.events.get(1).getMessage());
+    }
+
+    @Test
+    public void keepsOtherFiltersOnUninstall() {
+        Filter neutral = new NeutralFilter();
+        appender.addFilter(neutral);
+
+        assertTrue(filter.install());
+        assertSame(filter.getFilter(appender), appender.getFilter());
+        assertSame(neutral, appender.getFilter().getNext());
+
+        filter.uninstall();
+        assertSame(neutral, appender.getFilter());
+        assertNull(neutral.getNext());
+
+        LOG.error("logged", new IllegalArgumentException("abc"));
+        assertEquals(1, appender.events.size());
+    }
+
+    @Test
+    public void keepsChainsOfAppendersApart() {
+        Filter first = new NeutralFilter();
+        Filter second = new NeutralFilter();
+        Filter third = new NeutralFilter();
+        appender.addFilter(first);
+        appender.addFilter(second);
+        other.addFilter(third);
+
+        assertTrue(filter.install());
+        assertNotSame(filter.getFilter(appender), filter.getFilter(other));
+        assertSame(first, appender.getFilter().getNext());
+        assertSame(second, first.getNext());
+        assertNull(second.getNext());
+        assertSame(third, other.getFilter().getNext());
+        assertNull(third.getNext());
+
+        LOG.error("hidden", new IllegalArgumentException("abc"));
+        LOG.error("logged", new IllegalStateException("abc"));
+        assertEquals(1, appender.events.size());
+        assertEquals(1, other.events.size());
+
+        filter.uninstall();
+        assertSame(first, appender.getFilter());
+        assertSame(second, first.getNext());
+        assertNull(second.getNext());
+        assertSame(third, other.getFilter());
+        assertNull(third.getNext());
+    }
+}
@@ -0,0 +1,65 @@
+package com.nikondsl.jupiter.logging.filter;
+
+import com.nikondsl.jupiter.logging.adapters.impl.Slf4JLoggerAdaptor;
+import com.nikondsl.jupiter.logging.policy.SuppressionPolicy;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class Slf4jSuppressingLoggerFactoryTest {
+
+    @AfterAll
+    public static void restoreFactory() {
+        Slf4jSuppressingLoggerFactory.restore();
+    }
+
+    @Test
+    public void returnsAdaptorsFollowingActivePolicy() {
+        Slf4jLoggerFactoryFilter filter = new Slf4jLoggerFactoryFilter(SuppressionPolicy.builder()
+                .hideClasses(new Class[] {IllegalArgumentException.class})
+                .build());
+        assertTrue(filter.install());
+        Slf4jSuppressingLoggerFactory factory = Slf4jSuppressingLoggerFactory.interpose();
+        assertNotNull(factory);
+        assertSame(factory, LoggerFactory.getILoggerFactory());
+
+        Logger logger = LoggerFactory.getLogger("interposed.logger");
+        assertTrue(logger instanceof Slf4JLoggerAdaptor);
+        assertSame(logger, LoggerFactory.getLogger("interposed.logger"));
+        assertTrue(Slf4jSuppressingLoggerFactory.isCreatedByFactory(logger));
+        Slf4JLoggerAdaptor adaptor = (Slf4JLoggerAdaptor) logger;
+        assertEquals("java.lang.IllegalArgumentException is hidden by class",
+                adaptor.sanitize(new IllegalArgumentException("abc")));
+
+        filter.uninstall();
+        IllegalArgumentException exception = new IllegalArgumentException("abc");
+        assertSame(exception, adaptor.sanitize(exception));
+    }
+
+    @Test
+    public void loggersCreatedElsewhereAreNotFactoryLoggers() {
+        Slf4JLoggerAdaptor adaptor = new Slf4JLoggerAdaptor(LoggerFactory.getLogger("other.logger"), null);
+
+        assertFalse(Slf4jSuppressingLoggerFactory.isCreatedByFactory(adaptor));
+    }
+
+    @Test
+    public void restoresFactoryOfBinding() {
+        Slf4jSuppressingLoggerFactory factory = Slf4jSuppressingLoggerFactory.interpose();
+        assertNotNull(factory);
+
+        Slf4jSuppressingLoggerFactory.restore();
+        assertSame(factory.getTarget(), LoggerFactory.getILoggerFactory());
+        assertFalse(LoggerFactory.getLogger("restored.logger") instanceof Slf4JLoggerAdaptor);
+
+        assertNotSame(factory, Slf4jSuppressingLoggerFactory.interpose());
+    }
+}
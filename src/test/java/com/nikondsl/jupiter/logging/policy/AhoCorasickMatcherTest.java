@@ -0,0 +1,97 @@
+package com.nikondsl.jupiter.logging.policy;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AhoCorasickMatcherTest {
+
+    @Test
+    public void emptyMatcherMatchesNothing() {
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.compile();
+
+        assertTrue(matcher.isEmpty());
+        assertFalse(matcher.matches("anything"));
+        assertFalse(AhoCorasickMatcher.compile((String[]) null).matches("anything"));
+        assertFalse(AhoCorasickMatcher.compile(new String[] {null}).matches("anything"));
+    }
+
+    @Test
+    public void nullTextDoesNotMatch() {
+        assertFalse(AhoCorasickMatcher.compile("abc").matches(null));
+    }
+
+    @Test
+    public void emptyPatternMatchesAnyText() {
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.compile("abc", "");
+
+        assertTrue(matcher.matches(""));
+        assertTrue(matcher.matches("xyz"));
+    }
+
+    @Test
+    public void findsPatternInTheMiddle() {
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.compile("cannot be 0 or negative", "For input string:");
+
+        assertEquals("cannot be 0 or negative", matcher.find("seconds (-1) cannot be 0 or negative"));
+        assertEquals("For input string:", matcher.find("For input string: \"abc\""));
+        assertNull(matcher.find("Argument cannot be null"));
+    }
+
+    @Test
+    public void followsFailureLinks() {
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.compile("he", "she", "his", "hers");
+
+        assertEquals("she", matcher.find("ushers"));
+        assertEquals("his", matcher.find("ahis"));
+        assertFalse(matcher.matches("shhx"));
+    }
+
+    @Test
+    public void findsPatternContainedInAnotherPattern() {
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.compile("abcd", "bc");
+
+        assertEquals("bc", matcher.find("xabcx"));
+    }
+
+    @Test
+    public void supportsNonAsciiCharacters() {
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.compile("ошибка", "エラー");
+
+        assertTrue(matcher.matches("произошла ошибка"));
+        assertTrue(matcher.matches("重大なエラーです"));
+        assertFalse(matcher.matches("ошибк"));
+    }
+
+    @Test
+    public void agreesWithStringContains() {
+        Random random = new Random(42);
+        String[] patterns = new String[30];
+        for (int i = 0; i < patterns.length; i++) {
+            patterns[i] = randomText(random, 1 + random.nextInt(4));
+        }
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.compile(patterns);
+
+        for (int i = 0; i < 1000; i++) {
+            String text = randomText(random, random.nextInt(40));
+            boolean expected = false;
+            for (String pattern : patterns) {
+                expected |= text.contains(pattern);
+            }
+            assertEquals(expected, matcher.matches(text), text);
+        }
+    }
+
+    private static String randomText(Random random, int length) {
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            result.append((char) ('a' + random.nextInt(5)));
+        }
+        return result.toString();
+    }
+}
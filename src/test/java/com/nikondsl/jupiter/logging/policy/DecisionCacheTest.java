@@ -0,0 +1,72 @@
+package com.nikondsl.jupiter.logging.policy;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DecisionCacheTest {
+    private int loads = 0;
+
+    private String load(Class<?> type, String message) {
+        loads++;
+        return "abc".equals(message) ? null : type.getSimpleName() + ":" + message;
+    }
+
+    @Test
+    public void rejectsNonPositiveSize() {
+        assertThrows(IllegalArgumentException.class, () -> new DecisionCache(0));
+    }
+
+    @Test
+    public void remembersNegativeDecisions() {
+        DecisionCache cache = new DecisionCache(10);
+
+        assertNull(cache.get(IllegalStateException.class, "abc", this::load));
+        assertNull(cache.get(IllegalStateException.class, "abc", this::load));
+
+        assertEquals(1, loads);
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void distinguishesClassesAndNullMessages() {
+        DecisionCache cache = new DecisionCache(10);
+
+        assertEquals("IllegalStateException:null", cache.get(IllegalStateException.class, null, this::load));
+        assertEquals("NullPointerException:null", cache.get(NullPointerException.class, null, this::load));
+        assertEquals("IllegalStateException:null", cache.get(IllegalStateException.class, null, this::load));
+
+        assertEquals(2, loads);
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsed() {
+        DecisionCache cache = new DecisionCache(2);
+
+        cache.get(IllegalStateException.class, "1", this::load);
+        cache.get(IllegalStateException.class, "2", this::load);
+        cache.get(IllegalStateException.class, "1", this::load);
+        cache.get(IllegalStateException.class, "3", this::load);
+        cache.get(IllegalStateException.class, "1", this::load);
+
+        assertEquals(2, cache.size());
+        assertEquals(3, loads);
+
+        cache.get(IllegalStateException.class, "2", this::load);
+        assertEquals(4, loads);
+    }
+
+    @Test
+    public void invalidateClearsEntries() {
+        DecisionCache cache = new DecisionCache(2);
+        cache.get(IllegalStateException.class, "1", this::load);
+
+        cache.invalidate();
+        cache.get(IllegalStateException.class, "1", this::load);
+
+        assertEquals(2, loads);
+    }
+}
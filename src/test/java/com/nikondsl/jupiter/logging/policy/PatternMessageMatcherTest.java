@@ -0,0 +1,92 @@
+package com.nikondsl.jupiter.logging.policy;
+
+import com.nikondsl.jupiter.logging.annotations.MatchType;
+import org.junit.jupiter.api.Test;
+
+import java.util.regex.PatternSyntaxException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PatternMessageMatcherTest {
+
+    @Test
+    public void extractsLiteralsFromRegex() {
+        assertEquals(") cannot be 0 or negative", RequiredLiterals.ofRegex("seconds \\(-?\\d+\\) cannot be 0 or negative"));
+        assertEquals("For input string: \"", RequiredLiterals.ofRegex("^For input string: \"[a-z]*\"$"));
+        assertEquals("abc", RequiredLiterals.ofRegex("ab(x|y)abcd?"));
+        assertEquals("ab", RequiredLiterals.ofRegex("abc*"));
+        assertEquals("abc", RequiredLiterals.ofRegex("abc+"));
+        assertEquals("ab", RequiredLiterals.ofRegex("abc{0,2}"));
+        assertEquals("abc", RequiredLiterals.ofRegex("abc{2}"));
+        assertEquals("a.b", RequiredLiterals.ofRegex("\\Qa.b\\E"));
+        assertEquals("abc", RequiredLiterals.ofRegex("\\x41abc\\u0042"));
+        assertNull(RequiredLiterals.ofRegex("abc|def"));
+        assertNull(RequiredLiterals.ofRegex("(?i)abc"));
+        assertNull(RequiredLiterals.ofRegex(".*"));
+    }
+
+    @Test
+    public void extractsLiteralsFromGlob() {
+        assertEquals(") cannot be 0 or negative", RequiredLiterals.ofGlob("seconds (*) cannot be 0 or negative"));
+        assertEquals("abc", RequiredLiterals.ofGlob("a?abc*"));
+        assertNull(RequiredLiterals.ofGlob("*?*"));
+    }
+
+    @Test
+    public void regexIsFoundAnywhere() {
+        PatternMessageMatcher matcher = PatternMessageMatcher.compile(MatchType.REGEX, "seconds \\(-?\\d+\\) cannot be");
+
+        assertTrue(matcher.matches("error: seconds (-1) cannot be 0 or negative"));
+        assertFalse(matcher.matches("seconds (x) cannot be 0 or negative"));
+        assertFalse(matcher.matches(null));
+    }
+
+    @Test
+    public void regexWithoutLiteralIsStillEvaluated() {
+        PatternMessageMatcher matcher = PatternMessageMatcher.compile(MatchType.REGEX, "abc", "[0-9]{3}");
+
+        assertTrue(matcher.matches("code 123"));
+        assertTrue(matcher.matches("xabcx"));
+        assertFalse(matcher.matches("code 12"));
+    }
+
+    @Test
+    public void globMatchesWholeMessage() {
+        PatternMessageMatcher matcher = PatternMessageMatcher.compile(MatchType.GLOB, "seconds (*) cannot be ? or negative");
+
+        assertTrue(matcher.matches("seconds (-1) cannot be 0 or negative"));
+        assertTrue(matcher.matches("seconds (-1\n-2) cannot be 0 or negative"));
+        assertFalse(matcher.matches("seconds (-1) cannot be 0 or negative!"));
+        assertFalse(matcher.matches("seconds [-1] cannot be 0 or negative"));
+    }
+
+    @Test
+    public void combinesMatchers() {
+        PatternMessageMatcher matcher = PatternMessageMatcher.compile(MatchType.GLOB, "a*")
+                .and(PatternMessageMatcher.compile(MatchType.REGEX, "b+$"));
+
+        assertTrue(matcher.matches("abc"));
+        assertTrue(matcher.matches("cbb"));
+        assertFalse(matcher.matches("cbc"));
+    }
+
+    @Test
+    public void invalidRegexFailsOnCompile() {
+        assertThrows(PatternSyntaxException.class, () -> PatternMessageMatcher.compile(MatchType.REGEX, "(abc"));
+    }
+
+    @Test
+    public void policyUsesPatterns() {
+        SuppressionPolicy policy = SuppressionPolicy.builder()
+                .hideMessages(new String[] {"cannot be ? or negative"}, MatchType.GLOB)
+                .build();
+
+        assertNull(policy.getReplacement(new IllegalArgumentException("seconds (-1) cannot be 0 or negative")));
+        assertEquals("java.lang.IllegalArgumentException is hidden by message:cannot be 0 or negative",
+                policy.getReplacement(new IllegalArgumentException("cannot be 0 or negative")));
+    }
+}
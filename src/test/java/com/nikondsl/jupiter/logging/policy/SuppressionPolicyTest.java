@@ -0,0 +1,405 @@
+package com.nikondsl.jupiter.logging.policy;
+
+import com.nikondsl.jupiter.logging.annotations.ClassAndMessage;
+import com.nikondsl.jupiter.logging.annotations.MatchType;
+import org.junit.jupiter.api.Test;
+
+import java.lang.annotation.Annotation;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class SuppressionPolicyTest {
+
+    static ClassAndMessage classAndMessage(Class<? extends Throwable> clazz, String message) {
+        return new ClassAndMessage() {
+            @Override
+            public Class<? extends Annotation> annotationType() {
+                return ClassAndMessage.class;
+            }
+
+            @Override
+            public Class<? extends Throwable> clazz() {
+                return clazz;
+            }
+
+            @Override
+            public String message() {
+                return message;
+            }
+        };
+    }
+
+    @Test
+    public void emptyPolicyHidesNothing() {
+        assertTrue(SuppressionPolicy.EMPTY.isEmpty());
+        assertNull(SuppressionPolicy.EMPTY.getReplacement(new IllegalArgumentException("abc")));
+    }
+
+    @Test
+    public void hidesByClass() {
+        SuppressionPolicy policy = SuppressionPolicy.builder()
+                .hideClasses(new Class[] {IllegalStateException.class})
+                .build();
+
+        assertFalse(policy.isEmpty());
+        assertEquals("java.lang.IllegalStateException is hidden by class",
+                policy.getReplacement(new IllegalStateException("abc")));
+        assertNull(policy.getReplacement(new NullPointerException("abc")));
+    }
+
+    @Test
+    public void hidesByMessage() {
+        SuppressionPolicy policy = SuppressionPolicy.builder()
+                .hideMessages(new String[] {"cannot be 0", "For input string:"})
+                .build();
+
+        assertEquals("java.lang.IllegalArgumentException is hidden by message:seconds (-1) cannot be 0 or negative",
+                policy.getReplacement(new IllegalArgumentException("seconds (-1) cannot be 0 or negative")));
+        assertNull(policy.getReplacement(new IllegalArgumentException("other")));
+        assertNull(policy.getReplacement(new IllegalArgumentException()));
+    }
+
+    @Test
+    public void hidesByClassAndMessageGroupedByClass() {
+        SuppressionPolicy policy = SuppressionPolicy.builder()
+                .hideClassAndMessages(new ClassAndMessage[] {
+                        classAndMessage(NullPointerException.class, "first"),
+                        classAndMessage(NullPointerException.class, "second"),
+                        classAndMessage(IllegalStateException.class, "third")
+                })
+                .build();
+
+        assertEquals("java.lang.NullPointerException is hidden by class: java.lang.NullPointerException and message:second",
+                policy.getReplacement(new NullPointerException("second")));
+        assertNull(policy.getReplacement(new NullPointerException("third")));
+        assertNull(policy.getReplacement(new NullPointerException()));
+        assertNull(policy.getReplacement(new IllegalArgumentException("first")));
+    }
+
+    @Test
+    public void hidesSubclassesOfHiddenClass() {
+        SuppressionPolicy policy = SuppressionPolicy.builder()
+                .hideClasses(new Class[] {IllegalArgumentException.class, RuntimeException.class})
+                .build();
+
+        assertEquals("java.lang.NumberFormatException is hidden by class",
+                policy.getReplacement(new NumberFormatException("abc")));
+        assertSame(IllegalArgumentException.class, policy.getDecision(NumberFormatException.class).getHiddenBy());
+        assertSame(RuntimeException.class, policy.getDecision(IllegalStateException.class).getHiddenBy());
+        assertNull(policy.getDecision(Exception.class).getHiddenBy());
+        assertSame(policy.getDecision(NumberFormatException.class), policy.getDecision(NumberFormatException.class));
+    }
+
+    @Test
+    public void hidesSubclassesByClassAndMessage() {
+        SuppressionPolicy policy = SuppressionPolicy.builder()
+                .hideClassAndMessages(new ClassAndMessage[] {
+                        classAndMessage(IllegalArgumentException.class, "cannot be 0"),
+                        classAndMessage(NumberFormatException.class, "For input string:")
+                })
+                .build();
+
+        assertEquals("java.lang.NumberFormatException is hidden by class: java.lang.NumberFormatException and message:cannot be 0",
+                policy.getReplacement(new NumberFormatException("cannot be 0")));
+        assertNull(policy.getReplacement(new IllegalArgumentException("For input string: abc")));
+    }
+
+    @Test
+    public void cachesDecisionsByClassAndMessage() {
+        SuppressionPolicy policy = SuppressionPolicy.builder()
+                .hideMessages(new String[] {"cannot be 0"})
+                .decisionCacheSize(2)
+                .build();
+
+        assertEquals("java.lang.IllegalArgumentException is hidden by message:cannot be 0",
+                policy.getReplacement(new IllegalArgumentException("cannot be 0")));
+        assertEquals("java.lang.IllegalArgumentException is hidden by message:cannot be 0",
+                policy.getReplacement(new IllegalArgumentException("cannot be 0")));
+        assertNull(policy.getReplacement(new IllegalArgumentException("other")));
+        assertNull(policy.getReplacement(new IllegalArgumentException("other")));
+
+        assertEquals(2, policy.getDecisionCache().getHits());
+        assertEquals(2, policy.getDecisionCache().getMisses());
+    }
+
+    @Test
+    public void cacheIsDisabledByDefault() {
+        assertNull(SuppressionPolicy.builder().hideMessages(new String[] {"abc"}).build().getDecisionCache());
+    }
+
+    @Test
+    public void causesAreNotCheckedByDefault() {
+        SuppressionPolicy policy = SuppressionPolicy.builder()
+                .hideClasses(new Class[] {IllegalArgumentException.class})
+                .build();
+
+        assertNull(policy.getReplacement(new RuntimeException(new IllegalArgumentException("abc"))));
+    }
+
+    @Test
+    public void hidesByCauseAndSuppressed() {
+        SuppressionPolicy policy = SuppressionPolicy.builder()
+                .hideClasses(new Class[] {IllegalArgumentException.class})
+                .causeDepth(2)
+                .build();
+        RuntimeException withSuppressed = new RuntimeException("outer");
+        withSuppressed.addSuppressed(new IllegalStateException("first"));
+        withSuppressed.addSuppressed(new IllegalArgumentException("second"));
+
+        assertEquals("java.lang.RuntimeException is hidden by cause: java.lang.IllegalArgumentException is hidden by class",
+                policy.getReplacement(new RuntimeException(new IllegalArgumentException("abc"))));
+        assertEquals("java.lang.RuntimeException is hidden by cause: java.lang.IllegalArgumentException is hidden by class",
+                policy.getReplacement(withSuppressed));
+        assertNull(policy.getReplacement(new RuntimeException(new IllegalStateException("abc"))));
+    }
+
+    @Test
+    public void respectsCauseDepth() {
+        SuppressionPolicy policy = SuppressionPolicy.builder()
+                .hideMessages(new String[] {"deep"})
+                .causeDepth(2)
+                .build();
+
+        assertEquals("java.lang.RuntimeException is hidden by cause: java.lang.IllegalStateException is hidden by message:deep",
+                policy.getReplacement(wrap(wrap(new IllegalStateException("deep")))));
+        assertNull(policy.getReplacement(wrap(wrap(wrap(new IllegalStateException("deep"))))));
+    }
+
+    private static RuntimeException wrap(Throwable cause) {
+        return new RuntimeException("wrapper", cause);
+    }
+
+    @Test
+    public void stopsOnCycles() {
+        SuppressionPolicy policy = SuppressionPolicy.builder()
+                .hideClasses(new Class[] {IllegalArgumentException.class})
+                .causeDepth(100)
+                .build();
+        IllegalStateException first = new IllegalStateException("first");
+        IllegalStateException second = new IllegalStateException("second", first);
+        first.initCause(second);
+        first.addSuppressed(second);
+
+        assertNull(policy.getReplacement(first));
+    }
+
+    static class ExpensiveMessageException extends IllegalStateException {
+        private int messageCalls = 0;
+
+        @Override
+        public String getMessage() {
+            messageCalls++;
+            return "expensive message";
+        }
+    }
+
+    @Test
+    public void doesNotCallGetMessageForClassRules() {
+        SuppressionPolicy policy = SuppressionPolicy.builder()
+                .hideClasses(new Class[] {IllegalStateException.class})
+                .hideMessages(new String[] {"expensive"})
+                .build();
+        ExpensiveMessageException exception = new ExpensiveMessageException();
+
+        assertEquals("com.nikondsl.jupiter.logging.policy.SuppressionPolicyTest.ExpensiveMessageException is hidden by class",
+                policy.getReplacement(exception));
+        assertEquals(0, exception.messageCalls);
+    }
+
+    @Test
+    public void doesNotCallGetMessageWhenNoMessageRuleApplies() {
+        SuppressionPolicy policy = SuppressionPolicy.builder()
+                .hideClasses(new Class[] {NullPointerException.class})
+                .hideClassAndMessages(new ClassAndMessage[] {classAndMessage(IllegalArgumentException.class, "expensive")})
+                .build();
+        ExpensiveMessageException exception = new ExpensiveMessageException();
+
+        assertNull(policy.getReplacement(exception));
+        assertEquals(0, exception.messageCalls);
+        assertFalse(policy.getDecision(ExpensiveMessageException.class).isMessageNeeded());
+    }
+
+    @Test
+    public void callsGetMessageOnceForAllMessageRules() {
+        SuppressionPolicy policy = SuppressionPolicy.builder()
+                .hideMessages(new String[] {"other"})
+                .hideMessages(new String[] {"other.*"}, MatchType.REGEX)
+                .hideClassAndMessages(new ClassAndMessage[] {classAndMessage(IllegalStateException.class, "message")})
+                .decisionCacheSize(10)
+                .causeDepth(3)
+                .build();
+        ExpensiveMessageException exception = new ExpensiveMessageException();
+
+        assertEquals("com.nikondsl.jupiter.logging.policy.SuppressionPolicyTest.ExpensiveMessageException is hidden by class: " +
+                        "com.nikondsl.jupiter.logging.policy.SuppressionPolicyTest.ExpensiveMessageException and message:expensive message",
+                policy.getReplacement(exception));
+        assertEquals(1, exception.messageCalls);
+    }
+
+    @Test
+    public void rendersClassOnlyReplacements() {
+        SuppressionPolicy policy = SuppressionPolicy.builder()
+                .hideClasses(new Class[] {IllegalStateException.class})
+                .hideMessages(new String[] {"abc"})
+                .hideClassAndMessages(new ClassAndMessage[] {classAndMessage(NullPointerException.class, "def")})
+                .causeDepth(1)
+                .replacementStyle(ReplacementStyle.CLASS_ONLY)
+                .build();
+
+        assertEquals("java.lang.IllegalStateException is hidden by class",
+                policy.getReplacement(new IllegalStateException("abc")));
+        assertEquals("java.lang.IllegalArgumentException is hidden by message",
+                policy.getReplacement(new IllegalArgumentException("abc")));
+        assertEquals("java.lang.NullPointerException is hidden by class: java.lang.NullPointerException and message",
+                policy.getReplacement(new NullPointerException("def")));
+        assertEquals("java.lang.RuntimeException is hidden by cause",
+                policy.getReplacement(wrap(new IllegalStateException())));
+        assertSame(policy.getReplacement(new IllegalArgumentException("abc")),
+                policy.getReplacement(new IllegalArgumentException("abc")));
+    }
+
+    @Test
+    public void rendersToken() {
+        SuppressionPolicy policy = SuppressionPolicy.builder()
+                .hideMessages(new String[] {"abc"})
+                .replacementStyle(ReplacementStyle.TOKEN)
+                .replacementToken("***")
+                .build();
+
+        assertEquals("***", policy.getReplacement(new IllegalArgumentException("abc")));
+        assertEquals(SuppressionPolicy.DEFAULT_REPLACEMENT_TOKEN, SuppressionPolicy.builder()
+                .suspend(true)
+                .replacementStyle(ReplacementStyle.TOKEN)
+                .build()
+                .getReplacement(new IllegalArgumentException("abc")));
+    }
+
+    @Test
+    public void usesClassNameForAnonymousClasses() {
+        SuppressionPolicy policy = SuppressionPolicy.builder()
+                .hideClasses(new Class[] {IllegalStateException.class})
+                .build();
+        IllegalStateException anonymous = new IllegalStateException() {
+        };
+
+        assertEquals(anonymous.getClass().getName() + " is hidden by class", policy.getReplacement(anonymous));
+    }
+
+    @Test
+    public void sharesSubstitutesForTextsWithoutMessage() {
+        SuppressionPolicy full = SuppressionPolicy.builder().substituteThrowables(true).build();
+        SuppressionPolicy classOnly = SuppressionPolicy.builder()
+                .substituteThrowables(true)
+                .replacementStyle(ReplacementStyle.CLASS_ONLY)
+                .build();
+
+        HiddenException substitute = classOnly.getSubstitute("java.lang.IllegalStateException is hidden by class");
+
+        assertTrue(classOnly.isSubstitutingThrowables());
+        assertEquals("java.lang.IllegalStateException is hidden by class", substitute.getMessage());
+        assertEquals(0, substitute.getStackTrace().length);
+        assertSame(substitute, classOnly.getSubstitute("java.lang.IllegalStateException is hidden by class"));
+        assertNotSame(full.getSubstitute("abc"), full.getSubstitute("abc"));
+    }
+
+    @Test
+    public void classOnlyReplacementsDoNotAllocate() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threadBean.isThreadAllocatedMemorySupported() && threadBean.isThreadAllocatedMemoryEnabled());
+        SuppressionPolicy policy = SuppressionPolicy.builder()
+                .hideClasses(new Class[] {IllegalStateException.class})
+                .hideMessages(new String[] {"cannot be 0"})
+                .replacementStyle(ReplacementStyle.CLASS_ONLY)
+                .build();
+        IllegalStateException byClass = new IllegalStateException();
+        IllegalArgumentException byMessage = new IllegalArgumentException("seconds (-1) cannot be 0 or negative");
+        int calls = 100_000;
+        for (int i = 0; i < calls; i++) {
+            policy.getReplacement(byClass);
+            policy.getReplacement(byMessage);
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < calls; i++) {
+            policy.getReplacement(byClass);
+            policy.getReplacement(byMessage);
+        }
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+
+        assertEquals(0, allocated / calls, "bytes allocated per call, total: " + allocated);
+    }
+
+    @Test
+    public void combinesPoliciesWithOrElse() {
+        SuppressionPolicy byClass = SuppressionPolicy.builder()
+                .hideClasses(new Class[] {IllegalArgumentException.class})
+                .build();
+        SuppressionPolicy byMessage = SuppressionPolicy.builder()
+                .hideMessages(new String[] {"expected"})
+                .build();
+
+        SuppressionPolicy combined = byMessage.orElse(byClass);
+
+        assertEquals("java.lang.IllegalArgumentException is hidden by message:expected",
+                combined.getReplacement(new IllegalArgumentException("expected")));
+        assertEquals("java.lang.IllegalArgumentException is hidden by class",
+                combined.getReplacement(new IllegalArgumentException("abc")));
+        assertNull(combined.getReplacement(new IllegalStateException("abc")));
+        assertSame(byMessage, byMessage.orElse(SuppressionPolicy.EMPTY));
+        assertNull(byClass.getReplacement(new IllegalStateException("expected")));
+    }
+
+    @Test
+    public void decidesWithoutRendering() {
+        SuppressionPolicy policy = SuppressionPolicy.builder()
+                .hideMessages(new String[] {"expected"})
+                .causeDepth(2)
+                .build()
+                .orElse(SuppressionPolicy.builder()
+                        .hideClasses(new Class[] {IllegalArgumentException.class})
+                        .build());
+
+        assertTrue(policy.isHidden(new IllegalStateException("expected")));
+        assertTrue(policy.isHidden(new IllegalArgumentException("abc")));
+        assertTrue(policy.isHidden(wrap(new IllegalStateException("expected"))));
+        assertFalse(policy.isHidden(new IllegalStateException("abc")));
+        assertFalse(policy.isHidden(wrap(wrap(wrap(new IllegalStateException("expected"))))));
+        assertTrue(SuppressionPolicy.SUSPENDED.isHidden(new IllegalStateException("abc")));
+        assertFalse(SuppressionPolicy.EMPTY.isHidden(new IllegalStateException("abc")));
+    }
+
+    @Test
+    public void decisionsByMessageDoNotAllocate() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threadBean.isThreadAllocatedMemorySupported() && threadBean.isThreadAllocatedMemoryEnabled());
+        SuppressionPolicy policy = SuppressionPolicy.builder()
+                .hideMessages(new String[] {"cannot be 0"})
+                .build();
+        IllegalArgumentException byMessage = new IllegalArgumentException("seconds (-1) cannot be 0 or negative");
+        int calls = 100_000;
+        for (int i = 0; i < calls; i++) {
+            policy.isHidden(byMessage);
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < calls; i++) {
+            policy.isHidden(byMessage);
+        }
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+
+        assertEquals(0, allocated / calls, "bytes allocated per call, total: " + allocated);
+    }
+}